@@ -0,0 +1,71 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.approvers;
+
+import com.github.writethemfirst.approvals.files.ApprovalFiles;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRecursiveRemove;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+
+/**
+ * # ApproverBenchmark
+ *
+ * Measures a whole *Approval Test* ({@link Approver#verify(Object)}) whose output matches the *approved* file, for
+ * different sizes of output.
+ *
+ * A new {@link Approver} is created for every verification, so the search of the test class and test method in the
+ * stacktrace is measured as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApproverBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int lines;
+
+    private Path folder;
+    private String output;
+
+    @Setup
+    public void createApprovedFile() throws IOException {
+        folder = Files.createTempDirectory("approvals-benchmark");
+        output = range(0, lines).mapToObj(i -> "some line of output " + i).collect(joining("\n"));
+        write(output, new ApprovalFiles(folder, "verify").approved);
+    }
+
+    @TearDown
+    public void removeFolder() {
+        silentRecursiveRemove(folder);
+    }
+
+    @Benchmark
+    public void verify() {
+        new Approver().writeToFolder(folder.toString()).verify(output);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.files;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRecursiveRemove;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+
+/**
+ * # ApprovalFoldersBenchmark
+ *
+ * Measures the comparison of an *approved* folder with a *received* folder
+ * ({@link ApprovalFolders#matchesAndMismatches()}), for different numbers and sizes of files.
+ *
+ * Both folders hold the same files, spread in a few subfolders, so all of them have to be read and compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApprovalFoldersBenchmark {
+    @Param({"10", "100", "1000"})
+    public int files;
+
+    @Param({"10", "10000"})
+    public int lines;
+
+    private Path folder;
+    private ApprovalFolders approvalFolders;
+
+    @Setup
+    public void createFolders() throws IOException {
+        folder = Files.createTempDirectory("approvals-benchmark");
+        approvalFolders = new ApprovalFolders(folder, "matchesAndMismatches");
+        final String content = range(0, lines).mapToObj(i -> "some line of output " + i).collect(joining("\n"));
+        range(0, files).forEach(i -> {
+            final String file = "sub" + i % 10 + "/file" + i + ".txt";
+            write(content, approvalFolders.approved.resolve(file));
+            write(content, approvalFolders.received.resolve(file));
+        });
+    }
+
+    @TearDown
+    public void removeFolders() {
+        silentRecursiveRemove(folder);
+    }
+
+    @Benchmark
+    public MatchesAndMismatches matchesAndMismatches() {
+        return approvalFolders.matchesAndMismatches();
+    }
+}
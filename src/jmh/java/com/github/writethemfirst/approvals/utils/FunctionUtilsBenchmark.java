@@ -0,0 +1,57 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+/**
+ * # FunctionUtilsBenchmark
+ *
+ * Measures the application of a function to all the combinations of its arguments, as done by
+ * `Approvals.verifyAllCombinations`, for different numbers of values of each argument.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionUtilsBenchmark {
+    @Param({"10", "100", "1000"})
+    public int values;
+
+    private List<Integer> args1;
+    private List<String> args2;
+
+    @Setup
+    public void createArguments() {
+        args1 = range(0, values).boxed().collect(toList());
+        args2 = range(0, values).mapToObj(i -> "arg" + i).collect(toList());
+    }
+
+    @Benchmark
+    public String applyCombinations() {
+        return FunctionUtils.applyCombinations(args1, args2, (i, s) -> s.length() + i);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+
+/**
+ * # StringUtilsBenchmark
+ *
+ * Measures the comparison of an output with the content of an *approved* file ({@link StringUtils#sameContent}) and
+ * the description of the differences reported when they don't match ({@link StringUtils#describeDifferences}), for
+ * texts of different numbers of lines.
+ *
+ * The compared texts only differ by their line endings, so {@link StringUtils#sameContent} has to go through all the
+ * characters, and the described texts only differ by their middle line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int lines;
+
+    private String expected;
+    private String sameWithWindowsLineEndings;
+    private String differentInTheMiddle;
+
+    @Setup
+    public void createTexts() {
+        expected = text(lines, "\n", -1);
+        sameWithWindowsLineEndings = text(lines, "\r\n", -1);
+        differentInTheMiddle = text(lines, "\n", lines / 2);
+    }
+
+    private static String text(final int lines, final String lineEnding, final int changedLine) {
+        return range(0, lines)
+            .mapToObj(i -> i == changedLine ? "changed line " + i : "some line of output " + i)
+            .collect(joining(lineEnding, "", lineEnding));
+    }
+
+    @Benchmark
+    public boolean sameContent() {
+        return StringUtils.sameContent(expected, sameWithWindowsLineEndings);
+    }
+
+    @Benchmark
+    public String describeDifferences() {
+        return StringUtils.describeDifferences(expected, differentInTheMiddle, 3, 20_000);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils.stack;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * # StackUtilsBenchmark
+ *
+ * Measures the search of the test class and test method in the current thread stacktrace, done for every *Approval
+ * Test* which doesn't specify them.
+ *
+ * The {@link FindCaller} loaded by SPI for every call (as it used to be) is measured as well, to be compared with the
+ * cached one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackUtilsBenchmark {
+    private static final String BENCHMARK_CLASS = StackUtilsBenchmark.class.getName();
+
+    @Benchmark
+    public String callerClass() {
+        return Probe.callerClass();
+    }
+
+    @Benchmark
+    public String callerClassWithServiceLoader() {
+        return Probe.callerClass(StackUtils.loadFindCaller());
+    }
+
+    @Benchmark
+    public Optional<String> callerMethod() {
+        return StackUtils.callerMethod(BENCHMARK_CLASS);
+    }
+
+    private static class Probe {
+        static String callerClass() {
+            return StackUtils.callerClass(Probe.class);
+        }
+
+        static String callerClass(final FindCaller findCaller) {
+            return findCaller.callerClass(Probe.class);
+        }
+    }
+}
@@ -18,11 +18,14 @@
 package com.github.writethemfirst.approvals;
 
 import com.github.writethemfirst.approvals.approvers.Approver;
+import com.github.writethemfirst.approvals.utils.ParallelUtils;
 import com.github.writethemfirst.approvals.utils.functions.*;
 
 import java.nio.file.Path;
 
-import static com.github.writethemfirst.approvals.utils.FunctionUtils.applyCombinations;
+import static com.github.writethemfirst.approvals.utils.FunctionUtils.applyCombinationsInParallel;
+import static com.github.writethemfirst.approvals.utils.FunctionUtils.streamCombinations;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.defaultParallelism;
 import static java.util.Arrays.asList;
 
 public class Approvals {
@@ -94,9 +97,9 @@ public class Approvals {
      * Compares the actual output of your program and the content of the *approved* file matching with the test method
      * (see {@link #verify(Object)} for details).
      *
-     * The lambda or method `f` is called for all values of `args1` specified in the {@link Iterable}. Then the results
-     * are stored, one line for each value, in a String, which is used as in the standard {@link #verify(Object)}
-     * method.
+     * The lambda or method `f` is called for all values of `args1` specified in the {@link Iterable}. The results, one
+     * line for each value, are compared to the *approved* file as they are produced, so they never have to be held in
+     * memory all at once.
      *
      * @param args1 all values for the argument of `f` you want to verify
      * @param f     the lambda or method you want to test
@@ -106,7 +109,7 @@ public class Approvals {
      */
     public static <I1> void verifyAllCombinations(final Iterable<I1> args1, final Function1<I1, ?> f) {
         final Approver approver = new Approver();
-        approver.verify(applyCombinations(args1, f));
+        approver.verifyStream(streamCombinations(args1, f));
     }
 
     /**
@@ -147,7 +150,7 @@ public class Approvals {
         final Function2<I1, I2, ?> f) {
 
         final Approver approver = new Approver();
-        approver.verify(applyCombinations(args1, args2, f));
+        approver.verifyStream(streamCombinations(args1, args2, f));
     }
 
     /**
@@ -196,7 +199,7 @@ public class Approvals {
         final Function3<I1, I2, I3, ?> f) {
 
         final Approver approver = new Approver();
-        approver.verify(applyCombinations(args1, args2, args3, f));
+        approver.verifyStream(streamCombinations(args1, args2, args3, f));
     }
 
     /**
@@ -253,7 +256,7 @@ public class Approvals {
         final Function4<I1, I2, I3, I4, ?> f) {
 
         final Approver approver = new Approver();
-        approver.verify(applyCombinations(args1, args2, args3, args4, f));
+        approver.verifyStream(streamCombinations(args1, args2, args3, args4, f));
     }
 
     /**
@@ -315,7 +318,7 @@ public class Approvals {
         final Function5<I1, I2, I3, I4, I5, ?> f) {
 
         final Approver approver = new Approver();
-        approver.verify(applyCombinations(args1, args2, args3, args4, args5, f));
+        approver.verifyStream(streamCombinations(args1, args2, args3, args4, args5, f));
     }
 
     /**
@@ -353,4 +356,103 @@ public class Approvals {
             f);
     }
 
+    /**
+     * Same as {@link #verifyAllCombinations(Iterable, Function1)}, but `f` is called for several values at the same
+     * time, using the default parallelism of the framework (see {@link ParallelUtils#defaultParallelism()}).
+     *
+     * The results are stored in the same order as {@link #verifyAllCombinations(Iterable, Function1)}, so the same
+     * *approved* file can be used.
+     *
+     * @param args1 all values for the argument of `f` you want to verify
+     * @param f     the lambda or method you want to test, which must be thread-safe
+     * @throws AssertionError   if the {@link Reporter} implementation relies on standard assertions provided by a
+     *                          framework like JUnit
+     * @throws RuntimeException if the {@link Reporter} relies on executing an external command which failed
+     */
+    public static <I1> void verifyAllCombinationsInParallel(final Iterable<I1> args1, final Function1<I1, ?> f) {
+        final Approver approver = new Approver();
+        approver.verify(applyCombinationsInParallel(defaultParallelism(), args1, f));
+    }
+
+    /**
+     * Same as {@link #verifyAllCombinations(Iterable, Iterable, Function2)}, but `f` is called for several combinations
+     * at the same time (see {@link #verifyAllCombinationsInParallel(Iterable, Function1)}).
+     *
+     * @param args1 all values for the first argument of `f` you want to verify
+     * @param args2 all values for the second argument of `f` you want to verify
+     * @param f     the lambda or method you want to test, which must be thread-safe
+     */
+    public static <I1, I2> void verifyAllCombinationsInParallel(
+        final Iterable<I1> args1,
+        final Iterable<I2> args2,
+        final Function2<I1, I2, ?> f) {
+
+        final Approver approver = new Approver();
+        approver.verify(applyCombinationsInParallel(defaultParallelism(), args1, args2, f));
+    }
+
+    /**
+     * Same as {@link #verifyAllCombinations(Iterable, Iterable, Iterable, Function3)}, but `f` is called for several
+     * combinations at the same time (see {@link #verifyAllCombinationsInParallel(Iterable, Function1)}).
+     *
+     * @param args1 all values for the first argument of `f` you want to verify
+     * @param args2 all values for the second argument of `f` you want to verify
+     * @param args3 all values for the third argument of `f` you want to verify
+     * @param f     the lambda or method you want to test, which must be thread-safe
+     */
+    public static <I1, I2, I3> void verifyAllCombinationsInParallel(
+        final Iterable<I1> args1,
+        final Iterable<I2> args2,
+        final Iterable<I3> args3,
+        final Function3<I1, I2, I3, ?> f) {
+
+        final Approver approver = new Approver();
+        approver.verify(applyCombinationsInParallel(defaultParallelism(), args1, args2, args3, f));
+    }
+
+    /**
+     * Same as {@link #verifyAllCombinations(Iterable, Iterable, Iterable, Iterable, Function4)}, but `f` is called for
+     * several combinations at the same time (see {@link #verifyAllCombinationsInParallel(Iterable, Function1)}).
+     *
+     * @param args1 all values for the first argument of `f` you want to verify
+     * @param args2 all values for the second argument of `f` you want to verify
+     * @param args3 all values for the third argument of `f` you want to verify
+     * @param args4 all values for the fourth argument of `f` you want to verify
+     * @param f     the lambda or method you want to test, which must be thread-safe
+     */
+    public static <I1, I2, I3, I4> void verifyAllCombinationsInParallel(
+        final Iterable<I1> args1,
+        final Iterable<I2> args2,
+        final Iterable<I3> args3,
+        final Iterable<I4> args4,
+        final Function4<I1, I2, I3, I4, ?> f) {
+
+        final Approver approver = new Approver();
+        approver.verify(applyCombinationsInParallel(defaultParallelism(), args1, args2, args3, args4, f));
+    }
+
+    /**
+     * Same as {@link #verifyAllCombinations(Iterable, Iterable, Iterable, Iterable, Iterable, Function5)}, but `f` is
+     * called for several combinations at the same time (see {@link #verifyAllCombinationsInParallel(Iterable,
+     * Function1)}).
+     *
+     * @param args1 all values for the first argument of `f` you want to verify
+     * @param args2 all values for the second argument of `f` you want to verify
+     * @param args3 all values for the third argument of `f` you want to verify
+     * @param args4 all values for the fourth argument of `f` you want to verify
+     * @param args5 all values for the fifth argument of `f` you want to verify
+     * @param f     the lambda or method you want to test, which must be thread-safe
+     */
+    public static <I1, I2, I3, I4, I5> void verifyAllCombinationsInParallel(
+        final Iterable<I1> args1,
+        final Iterable<I2> args2,
+        final Iterable<I3> args3,
+        final Iterable<I4> args4,
+        final Iterable<I5> args5,
+        final Function5<I1, I2, I3, I4, I5, ?> f) {
+
+        final Approver approver = new Approver();
+        approver.verify(applyCombinationsInParallel(defaultParallelism(), args1, args2, args3, args4, args5, f));
+    }
+
 }
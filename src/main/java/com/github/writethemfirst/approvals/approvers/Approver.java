@@ -22,13 +22,24 @@ import com.github.writethemfirst.approvals.Reporter;
 import com.github.writethemfirst.approvals.files.ApprovalFiles;
 import com.github.writethemfirst.approvals.files.ApprovalFolders;
 import com.github.writethemfirst.approvals.files.MatchesAndMismatches;
+import com.github.writethemfirst.approvals.files.StreamingComparison;
+import com.github.writethemfirst.approvals.metrics.Instrumentation;
+import com.github.writethemfirst.approvals.metrics.VerificationRecorder;
 import com.github.writethemfirst.approvals.reporters.ThrowsReporter;
+import com.github.writethemfirst.approvals.utils.ApprovalEvents;
+import com.github.writethemfirst.approvals.utils.PathLocks;
+import com.github.writethemfirst.approvals.utils.stack.CurrentTest;
 import com.github.writethemfirst.approvals.utils.stack.StackUtils;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.github.writethemfirst.approvals.utils.FileUtils.*;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.defaultParallelism;
+import static com.github.writethemfirst.approvals.utils.PathLocks.withLock;
 import static com.github.writethemfirst.approvals.utils.stack.StackUtils.callerClass;
 import static com.github.writethemfirst.approvals.utils.stack.StackUtils.callerMethod;
 import static java.nio.file.Paths.get;
@@ -76,12 +87,28 @@ public class Approver {
      * constructor and the test method used to apply a {@link #verify(Object)} method.
      */
     public Approver() {
-        this(Reporter.DEFAULT,
-            null,
-            "",
-            folderForClass(callerClass(Approver.class, Approvals.class)),
-            callerClass(Approver.class, Approvals.class),
-            "");
+        this(Reporter.DEFAULT, null, "", defaultTestClass());
+    }
+
+    private Approver(final Reporter reporter,
+                     final String customFileName,
+                     final String customExtension,
+                     final String testClass) {
+        this(reporter, customFileName, customExtension, folderForClass(testClass), testClass, "");
+    }
+
+    /**
+     * Returns the name of the test class, published by the test framework (see {@link CurrentTest}) or else searched
+     * in the current thread stacktrace.
+     *
+     * The stacktrace is searched directly from this method (and not from a lambda), since the caller class is the one
+     * found right after `Approver` in the stacktrace.
+     */
+    private static String defaultTestClass() {
+        final Optional<CurrentTest> currentTest = CurrentTest.current();
+        return currentTest.isPresent()
+            ? currentTest.get().className
+            : callerClass(Approver.class, Approvals.class);
     }
 
     /**
@@ -198,22 +225,93 @@ public class Approver {
      * @throws RuntimeException if the {@link Reporter} relies on executing an external command which failed
      */
     public void verify(final Object output) {
-        final ApprovalFiles approvalFiles = approvedAndReceivedPaths();
+        final VerificationRecorder recorder = Instrumentation.recorder(testClass);
+        final ApprovalFiles approvalFiles = recorder.resolveCaller(this::approvedAndReceivedPaths);
         final String expected = header + output;
-        verifyImpl(approvalFiles, expected);
+        ApprovalEvents.verify(approvalFiles.approved, () -> verifyImpl(recorder, approvalFiles, expected));
     }
 
-    private void verifyImpl(final ApprovalFiles approvalFiles, final String expected) {
-        if (isAutoApproving()) {
-            write(expected, approvalFiles.approved);
-        }
-        if (approvalFiles.hasApproved(expected)) {
+    /**
+     * Compares the actual output of your program, produced as a Stream of chunks, and the content of the *approved*
+     * file matching with the test method.
+     *
+     * Chunks are compared with the *approved* file as they are produced (see {@link StreamingComparison}), so the
+     * memory needed doesn't depend on the size of the output. The *received* file is only written once a difference
+     * is found, and then kept for you to review it.
+     *
+     * In case of differences found in the output, the {@link Reporter} linked to this `Approvals` instance will be
+     * called ({@link Reporter#mismatch(ApprovalFiles)} ).
+     *
+     * @param output The chunks of the output of your program, in order. They are concatenated to be compared to the
+     *               associated *approved* file.
+     * @throws AssertionError   if the {@link Reporter} implementation relies on standard assertions provided by a
+     *                          framework like JUnit
+     * @throws RuntimeException if the {@link Reporter} relies on executing an external command which failed
+     */
+    public void verifyStream(final Stream<? extends CharSequence> output) {
+        final VerificationRecorder recorder = Instrumentation.recorder(testClass);
+        final ApprovalFiles approvalFiles = recorder.resolveCaller(this::approvedAndReceivedPaths);
+        ApprovalEvents.verify(approvalFiles.approved, () -> verifyStreamImpl(recorder, approvalFiles, output));
+    }
+
+    private void verifyStreamImpl(final VerificationRecorder recorder,
+                                  final ApprovalFiles approvalFiles,
+                                  final Stream<? extends CharSequence> output) {
+        final Stream<CharSequence> expected = Stream.concat(Stream.of(header), output);
+        final boolean matches = withLock(approvalFiles.approved, () -> {
+            if (isAutoApproving()) {
+                recorder.write(approvalFiles.approved, () -> write(expected, approvalFiles.approved));
+                silentRemove(approvalFiles.received);
+                return true;
+            }
             silentRemove(approvalFiles.received);
-        } else {
-            if (!approvalFiles.hasReceived(expected)) {
-                write(expected, approvalFiles.received);
+            final boolean sameContent = recorder.compare(approvalFiles.approved, () -> {
+                try (final StreamingComparison comparison = new StreamingComparison(approvalFiles)) {
+                    expected.forEachOrdered(comparison::append);
+                    return comparison.matches();
+                } catch (final IOException e) {
+                    throw new RuntimeException("Can't compare the output with " + approvalFiles.approved, e);
+                }
+            });
+            if (!sameContent) {
+                recorder.bytesWritten(approvalFiles.received);
+                approvalFiles.createEmptyApprovedFileIfNeeded();
+            }
+            return sameContent;
+        });
+        recorder.verified(approvalFiles.approved, matches);
+        if (!matches) {
+            reporter.mismatch(approvalFiles);
+            new ThrowsReporter().mismatch(approvalFiles);
+        }
+    }
+
+    /**
+     * Compares the output with the *approved* file, while holding the lock of the *approved* file (see {@link
+     * PathLocks}) for all the file operations, so tests run in parallel don't interfere. The lock isn't held while
+     * reporting the mismatches.
+     *
+     * Each step is measured by the `recorder`, whose listeners are notified before reporting the mismatches.
+     */
+    private void verifyImpl(final VerificationRecorder recorder,
+                            final ApprovalFiles approvalFiles,
+                            final String expected) {
+        final boolean matches = withLock(approvalFiles.approved, () -> {
+            if (isAutoApproving()) {
+                recorder.write(approvalFiles.approved, () -> write(expected, approvalFiles.approved));
+            }
+            if (recorder.compare(approvalFiles.approved, () -> approvalFiles.hasApproved(expected))) {
+                silentRemove(approvalFiles.received);
+                return true;
+            }
+            if (!recorder.compare(approvalFiles.received, () -> approvalFiles.hasReceived(expected))) {
+                recorder.write(approvalFiles.received, () -> write(expected, approvalFiles.received));
             }
             approvalFiles.createEmptyApprovedFileIfNeeded();
+            return false;
+        });
+        recorder.verified(approvalFiles.approved, matches);
+        if (!matches) {
             reporter.mismatch(approvalFiles);
             new ThrowsReporter().mismatch(approvalFiles);
         }
@@ -223,8 +321,8 @@ public class Approver {
      * Compares the actual output of your program (the function's argument) and the content of the *approved* file
      * matching with the test method.
      *
-     * It'll use a temporary *received* folder to store a copy of the output of your program. This file will be erased
-     * in case the results are matching. Otherwise, it will be kept for you to review it.
+     * If `output` is a folder, its files are compared directly to the *approved* files, and only the mismatching files
+     * are copied to a temporary *received* folder, kept for you to review it. Nothing is written when all files match.
      *
      * In case of differences found in the output, the {@link Reporter} linked to this `Approvals` instance will be
      * called ({@link Reporter#mismatch(ApprovalFiles)} ).
@@ -236,12 +334,15 @@ public class Approver {
      * @throws RuntimeException if the {@link Reporter} relies on executing an external command which failed
      */
     public void verify(final Path output) {
+        final VerificationRecorder recorder = Instrumentation.recorder(testClass);
+        final ApprovalFolders approvalFolders = recorder.resolveCaller(this::approvedAndReceivedPathsForFolder);
         if (output.toFile().isDirectory()) {
-            final ApprovalFolders approvalFolders = approvedAndReceivedPathsForFolder();
-            approvalFolders.prepareFolders(output);
-            verifyFolderContent(approvalFolders);
+            ApprovalEvents.verify(approvalFolders.approved,
+                () -> verifyFolderContent(recorder, approvalFolders, output));
         } else {
-            verifyImpl(approvedAndReceivedPathsForFolder(output), silentRead(output));
+            final ApprovalFiles approvalFiles = approvalFolders.resolve(output);
+            ApprovalEvents.verify(approvalFiles.approved,
+                () -> verifyImpl(recorder, approvalFiles, recorder.read(output, () -> silentRead(output))));
         }
     }
 
@@ -249,8 +350,8 @@ public class Approver {
      * Compares the actual output of your program (files in the folder `actualFolder`) and the content of the *approved*
      * "Master" folder matching with the test method.
      *
-     * It'll use a temporary *received* folder to copy the actual files from your program. This folder and its files
-     * will be erased in case the results are matching. Otherwise, they will be kept for you to review it.
+     * Files are compared in place. Only mismatching files are copied to a temporary *received* folder, for you to
+     * review them.
      *
      * In case of differences found in the output, the {@link Reporter} linked to this `Approvals` instance will be
      * called ({@link Reporter#mismatch(ApprovalFiles)}) for each mismatched file.
@@ -259,18 +360,27 @@ public class Approver {
      *                          framework like JUnit
      * @throws RuntimeException if the {@link Reporter} relies on executing an external command which failed
      */
-    private void verifyFolderContent(final ApprovalFolders approvalFolders) {
-        if (isAutoApproving()) {
-            approvalFolders.autoApprove();
-        }
-        final MatchesAndMismatches matchesAndMismatches = approvalFolders.matchesAndMismatches();
-        matchesAndMismatches.cleanupReceivedFiles();
+    private void verifyFolderContent(final VerificationRecorder recorder,
+                                     final ApprovalFolders approvalFolders,
+                                     final Path actualFolder) {
+        final MatchesAndMismatches matchesAndMismatches = withLock(approvalFolders.approved, () -> {
+            if (isAutoApproving()) {
+                recorder.write(approvalFolders.approved, () -> approvalFolders.autoApprove(actualFolder));
+            }
+            final MatchesAndMismatches result = recorder.compare(approvalFolders.approved,
+                () -> approvalFolders.matchesAndMismatchesInPlace(actualFolder, defaultParallelism()));
+            recorder.bytesRead(actualFolder);
+            recorder.bytesWritten(approvalFolders.received);
+            return result;
+        });
+        recorder.verified(approvalFolders.approved, !matchesAndMismatches.hasMismatches());
         matchesAndMismatches.reportMismatches(reporter);
         matchesAndMismatches.throwMismatches();
     }
 
     /**
-     * Returns the caller method name using {@link StackUtils}.
+     * Returns the method name of the current test published by the test framework (see {@link CurrentTest}), or else
+     * the caller method name using {@link StackUtils}.
      *
      * It returns `unknown_method` in case the caller method cannot be retrieved automatically.
      *
@@ -281,11 +391,10 @@ public class Approver {
      * `unknown_method` otherwise.
      */
     private String callerMethodName() {
-        return callerMethod(testClass).orElse("unknown_method");
-    }
-
-    private ApprovalFiles approvedAndReceivedPathsForFolder(final Path output) {
-        return approvedAndReceivedPathsForFolder().resolve(output);
+        return CurrentTest.current()
+            .map(test -> test.methodName)
+            .orElseGet(() -> ApprovalEvents.callerLookup(testClass,
+                () -> callerMethod(testClass).orElse("unknown_method")));
     }
 
     public ApprovalFolders approvedAndReceivedPathsForFolder() {
@@ -21,10 +21,12 @@ package com.github.writethemfirst.approvals.files;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Optional;
 
+import static com.github.writethemfirst.approvals.utils.ApprovalEvents.compare;
 import static com.github.writethemfirst.approvals.utils.FileUtils.createParentDirectories;
 import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
-import static com.github.writethemfirst.approvals.utils.StringUtils.sameContent;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentSameContent;
 import static java.lang.String.format;
 
 /**
@@ -91,20 +93,36 @@ public class ApprovalFiles {
         return silentRead(received);
     }
 
+    /**
+     * Checks if the *approved* file has the provided content. The content is encoded and compared to the bytes of the
+     * file, which is never decoded (large files are memory-mapped and compared chunk by chunk, so they are never loaded
+     * on the heap).
+     *
+     * If enabled, the {@link DigestIndex} of the folder is checked first so that unchanged *approved* files are not
+     * read at all.
+     */
     public boolean hasApproved(String content) {
-        return sameContent(approvedContent(), content);
+        final Optional<DigestIndex> index = DigestIndex.isEnabled() ? DigestIndex.forApproved(approved) : Optional.empty();
+        if (index.isPresent() && index.get().knownToMatch(approved, content)) {
+            return true;
+        }
+        final boolean matches = compare(approved, () -> silentSameContent(approved, content));
+        if (matches) {
+            index.ifPresent(i -> i.recordMatch(approved, content));
+        }
+        return matches;
     }
 
     public boolean hasReceived(String content) {
-        return sameContent(receivedContent(), content);
+        return compare(received, () -> silentSameContent(received, content));
     }
 
 
     /**
-     * Checks if both files have the same content (by reading them and comparing the data afterwards).
+     * Checks if both files have the same content, by comparing their bytes without decoding them.
      */
     boolean haveSameContent() {
-        return sameContent(approvedContent(), receivedContent());
+        return compare(approved, () -> silentSameContent(approved, received));
     }
 
     /**
@@ -18,17 +18,27 @@
 
 package com.github.writethemfirst.approvals.files;
 
+import com.github.writethemfirst.approvals.utils.FileTreeWalker;
+import com.github.writethemfirst.approvals.utils.FileTreeWalker.JoinedEntry;
 import com.github.writethemfirst.approvals.utils.FileUtils;
+import com.github.writethemfirst.approvals.utils.ParallelUtils;
+import com.github.writethemfirst.approvals.utils.PathLocks;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
+import static com.github.writethemfirst.approvals.utils.ApprovalEvents.stageFolder;
 import static com.github.writethemfirst.approvals.utils.FileUtils.*;
+import static com.github.writethemfirst.approvals.utils.FileTreeWalker.defaultMaxDepth;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.defaultParallelism;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
+import static com.github.writethemfirst.approvals.utils.PathLocks.withLock;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.partitioningBy;
+import static java.util.stream.Collectors.toList;
 
 /**
  * ApprovalFolders is similar to ApprovalFiles : it holds a pair of {@link Path}s, *approved* and *received*.
@@ -68,15 +78,28 @@ public class ApprovalFolders extends ApprovalFiles {
 
     /**
      * Creates the *approved* folder and copies files from *actual* to *received* folder.
+     *
+     * Files are copied by the file system without being loaded on the heap, and keep their path relative to the
+     * *actual* folder, so they can be compared to the *approved* files with the same relative path.
+     *
+     * The *approved* folder is locked while preparing the folders (see {@link PathLocks}).
      */
     public void prepareFolders(final Path actualFolder) {
+        withLock(approved, () -> {
+            createApprovedFolder();
+            stageFolder(received, () -> {
+                FileUtils.silentRecursiveRemove(received, defaultParallelism());
+                listFiles(actualFolder).forEach(actual -> copy(actual, changeRoot(actual, actualFolder, received)));
+            });
+        });
+    }
+
+    private void createApprovedFolder() {
         try {
             Files.createDirectories(approved);
-            FileUtils.silentRecursiveRemove(received);
         } catch (final IOException e) {
             throw new RuntimeException("could not create *approved* folder " + approved, e);
         }
-        listFiles(actualFolder).forEach(actual -> copyToFolder(actual, received));
     }
 
 
@@ -84,63 +107,111 @@ public class ApprovalFolders extends ApprovalFiles {
      * Compares the content of files in *approved* and *received* folders (only makes sense if *approved* and *received*
      * are folders).
      *
+     * Files are compared in parallel, using the default parallelism (see {@link ParallelUtils#defaultParallelism()}).
+     *
      * @return the 2 lists of matches (files with same content) and mismatches (different files)
      */
     public MatchesAndMismatches matchesAndMismatches() {
-        final Map<Boolean, List<ApprovalFiles>> matchesAndMismatches = Stream
-            .concat(
-                listFiles(approved).map(this::matchApprovedFile),
-                listFiles(received).map(this::matchReceivedFile))
-            .distinct()
-            .collect(partitioningBy(ApprovalFiles::haveSameContent));
+        return matchesAndMismatches(defaultParallelism());
+    }
+
+    /**
+     * Compares the content of files in *approved* and *received* folders (only makes sense if *approved* and *received*
+     * are folders).
+     *
+     * Both folders are listed concurrently, in a single walk each, and their files are paired by relative path with a
+     * sorted merge (see {@link FileTreeWalker#join(Path, Path, int)}).
+     *
+     * Pairs of files are compared concurrently, but both lists are always sorted by *approved* path, whatever the
+     * parallelism.
+     *
+     * @param parallelism the number of files to be compared at the same time
+     * @return the 2 lists of matches (files with same content) and mismatches (different files)
+     */
+    public MatchesAndMismatches matchesAndMismatches(final int parallelism) {
+        final List<JoinedEntry> pairs = FileTreeWalker.join(approved, received, defaultMaxDepth());
+
+        final Map<Boolean, List<ApprovalFiles>> matchesAndMismatches = inPool(parallelism, () -> pairs
+            .parallelStream()
+            .collect(partitioningBy(this::haveSameContent, mapping(this::approvalFiles, toList()))));
 
         return new MatchesAndMismatches(
             matchesAndMismatches.get(true),
             matchesAndMismatches.get(false));
     }
 
+    /**
+     * Compares the content of files in the *approved* folder directly with the files of the *actual* folder, without
+     * staging them first in the *received* folder.
+     *
+     * The *approved* folder is created if needed and the *received* folder left by a previous run is removed, then only
+     * the mismatching *actual* files are copied into the *received* folder, so a folder verification where everything
+     * matches doesn't write anything.
+     *
+     * @param actualFolder the folder containing the output of the *Program Under Tests*
+     * @param parallelism  the number of files to be compared at the same time
+     * @return the 2 lists of matches and mismatches, holding *approved* and *received* files (the *received* files of
+     * matches don't exist)
+     */
+    public MatchesAndMismatches matchesAndMismatchesInPlace(final Path actualFolder, final int parallelism) {
+        createApprovedFolder();
+        silentRecursiveRemove(received, parallelism);
+        final MatchesAndMismatches actualMatchesAndMismatches =
+            new ApprovalFolders(approved, actualFolder).matchesAndMismatches(parallelism);
+
+        final List<ApprovalFiles> matches = actualMatchesAndMismatches.matches.stream()
+            .map(match -> new ApprovalFiles(match.approved, changeRoot(match.received, actualFolder, received)))
+            .collect(toList());
+        final List<ApprovalFiles> mismatches = stageFolder(received, () -> actualMatchesAndMismatches.mismatches.stream()
+            .map(mismatch -> {
+                final Path receivedFile = changeRoot(mismatch.received, actualFolder, received);
+                if (mismatch.received.toFile().isFile()) {
+                    copy(mismatch.received, receivedFile);
+                }
+                return new ApprovalFiles(mismatch.approved, receivedFile);
+            })
+            .collect(toList()));
+
+        return new MatchesAndMismatches(matches, mismatches);
+    }
+
     /**
      * Completely overrides the approved folder with the content from the received folder.
      */
     public void autoApprove() {
-        silentRecursiveRemove(approved);
-        copy(received, approved);
+        autoApprove(received);
     }
 
-
     /**
-     * If approved and received are directories, this method allows to create a new {@link ApprovalFiles} object which
-     * associates to an already known *approved* file a resolved *received* file. That *received* file will be searched
-     * for in the received folder by resolving the relative path found from the *approved* file.
-     *
-     * It allows to go from a found *approved* file to a pair of both *approved* and *received* file.
-     *
-     * If approved or received are not directories (which is checked with areRegularFiles), this current instance of
-     * {@link ApprovalFiles} will be returned.
+     * Completely overrides the approved folder with the content from the provided folder.
      *
-     * @param approvedFile The *approved* file we already know and for which we want to associate a *received* file
-     * @return An {@link ApprovalFiles} instance containing both the *approved* and matching *received* file
+     * @param actualFolder the folder containing the files to be approved
      */
-    private ApprovalFiles matchApprovedFile(final Path approvedFile) {
-        return new ApprovalFiles(approvedFile, changeRoot(approvedFile, approved, received));
+    public void autoApprove(final Path actualFolder) {
+        silentRecursiveRemove(approved, defaultParallelism());
+        copy(actualFolder, approved, defaultParallelism());
     }
 
 
     /**
-     * If approved and received are directories, this method allows to create a new {@link ApprovalFiles} object which
-     * associates to an already known *received* file a resolved *approved* file. That *approved* file will be searched
-     * for in the approved folder by resolving the relative path found from the *received* file.
-     *
-     * It allows to go from a found *received* file to a pair of both *approved* and *received* file.
-     *
-     * If approved or received are not directories (which is checked with areRegularFiles), this current instance of
-     * {@link ApprovalFiles} will be returned.
-     *
-     * @param receivedFile The *received* file we already know and for which we want to associate a *approved* file
-     * @return An {@link ApprovalFiles} instance containing both the *approved* and matching *received* file
+     * Returns the *approved* and *received* files found (in either folder) with the same relative path.
+     */
+    private ApprovalFiles approvalFiles(final JoinedEntry pair) {
+        return new ApprovalFiles(approved.resolve(pair.relativePath), received.resolve(pair.relativePath));
+    }
+
+    /**
+     * Checks if the *approved* and *received* files have the same content. The sizes found while listing the folders
+     * are checked first: a missing file is considered empty, and 2 empty files always match, so their content is only
+     * read when both files exist and one isn't empty.
      */
-    private ApprovalFiles matchReceivedFile(final Path receivedFile) {
-        return new ApprovalFiles(changeRoot(receivedFile, received, approved), receivedFile);
+    private boolean haveSameContent(final JoinedEntry pair) {
+        final long approvedSize = pair.left().map(entry -> entry.size).orElse(0L);
+        final long receivedSize = pair.right().map(entry -> entry.size).orElse(0L);
+        if (approvedSize == 0 || receivedSize == 0) {
+            return approvedSize == receivedSize;
+        }
+        return approvalFiles(pair).haveSameContent();
     }
 
     private Path changeRoot(final Path file, final Path initialRoot, final Path newRoot) {
@@ -0,0 +1,152 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.writethemfirst.approvals.utils.ContentDigest.digest;
+import static com.github.writethemfirst.approvals.utils.FileUtils.createParentDirectories;
+import static java.lang.String.format;
+
+/**
+ * # DigestIndex
+ *
+ * Optional index of the *approved* files of a `*.files` folder, storing for each *approved* file its size, its last
+ * modification time and the digest of the content it has been successfully compared to.
+ *
+ * When an *approved* file still has the size and modification time stored in the index, comparing the digest of an
+ * output with the stored digest is enough to know that the output matches, without reading the file at all. Any other
+ * case (no entry, stale entry, different digest) falls back to a real comparison.
+ *
+ * The index is only used when the `APPROVALS_DIGEST_INDEX` system property is set to `true`. It is kept in memory and
+ * saved in a `.digests` sidecar file of each `*.files` folder when the JVM shuts down.
+ */
+class DigestIndex {
+    private static final String FOLDER_SUFFIX = ".files";
+    private static final String SIDECAR_NAME = ".digests";
+    private static final Map<Path, DigestIndex> indexes = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> indexes.values().forEach(DigestIndex::save)));
+    }
+
+    private final Path sidecar;
+    private final Path root;
+    private final Properties entries = new Properties();
+    private volatile boolean dirty = false;
+
+    private DigestIndex(final Path root) {
+        this.root = root;
+        this.sidecar = root.resolve(SIDECAR_NAME);
+        load(entries);
+    }
+
+    static boolean isEnabled() {
+        return "true".equals(System.getProperty("APPROVALS_DIGEST_INDEX"));
+    }
+
+    /**
+     * Finds the index of the `*.files` folder containing the provided *approved* file.
+     *
+     * @param approved An *approved* file
+     * @return the index to use for that file, or empty if it is not located in a `*.files` folder
+     */
+    static Optional<DigestIndex> forApproved(final Path approved) {
+        for (Path folder = approved.toAbsolutePath().getParent(); folder != null; folder = folder.getParent()) {
+            final Path name = folder.getFileName();
+            if (name != null && name.toString().endsWith(FOLDER_SUFFIX)) {
+                return Optional.of(indexes.computeIfAbsent(folder, DigestIndex::new));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks in the index if the *approved* file is known to have the provided content.
+     *
+     * @return true only if the index has a fresh entry for that file, with the same digest as the content
+     */
+    boolean knownToMatch(final Path approved, final String content) {
+        final String entry = entries.getProperty(key(approved));
+        return entry != null && entry.equals(entryFor(approved, content));
+    }
+
+    /**
+     * Records that the *approved* file has the provided content.
+     */
+    void recordMatch(final Path approved, final String content) {
+        final String entry = entryFor(approved, content);
+        if (entry != null) {
+            entries.setProperty(key(approved), entry);
+            dirty = true;
+        }
+    }
+
+    private String entryFor(final Path approved, final String content) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(approved, BasicFileAttributes.class);
+            return format("%d %d %s", attributes.size(), attributes.lastModifiedTime().toMillis(), digest(content));
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private String key(final Path approved) {
+        return root.relativize(approved.toAbsolutePath()).toString().replace('\\', '/');
+    }
+
+    private void load(final Properties properties) {
+        if (sidecar.toFile().isFile()) {
+            try (final InputStream input = Files.newInputStream(sidecar)) {
+                properties.load(input);
+            } catch (final IOException e) {
+                System.err.println(format("Can't read the digest index located at <%s>.", sidecar));
+                System.err.println(e);
+            }
+        }
+    }
+
+    /**
+     * Saves the index, merged with the entries written meanwhile by other JVMs. It is called when the JVM shuts down.
+     */
+    synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        final Properties merged = new Properties();
+        load(merged);
+        merged.putAll(entries);
+        createParentDirectories(sidecar);
+        try (final OutputStream output = Files.newOutputStream(sidecar)) {
+            merged.store(output, "Digests of approved files, generated by Approvals-Java");
+            dirty = false;
+        } catch (final IOException e) {
+            System.err.println(format("Can't write the digest index located at <%s>.", sidecar));
+            System.err.println(e);
+        }
+    }
+}
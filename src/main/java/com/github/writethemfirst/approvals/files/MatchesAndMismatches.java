@@ -30,14 +30,18 @@ import static com.github.writethemfirst.approvals.utils.FileUtils.silentRemove;
  * Holds 2 lists of matches (files with same content) and mismatches (different files).
  */
 public class MatchesAndMismatches {
-    private final List<ApprovalFiles> matches;
-    private final List<ApprovalFiles> mismatches;
+    final List<ApprovalFiles> matches;
+    final List<ApprovalFiles> mismatches;
 
     MatchesAndMismatches(final List<ApprovalFiles> matches, final List<ApprovalFiles> mismatches) {
         this.matches = matches;
         this.mismatches = mismatches;
     }
 
+    public boolean hasMismatches() {
+        return !mismatches.isEmpty();
+    }
+
     public void reportMismatches(final Reporter reporter) {
         if (mismatches.size() > 0) {
             final ApprovalFiles firstMismatch = mismatches.get(0);
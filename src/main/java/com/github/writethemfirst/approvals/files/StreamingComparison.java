@@ -0,0 +1,274 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.files;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.charset;
+import static com.github.writethemfirst.approvals.utils.FileUtils.createParentDirectories;
+import static java.lang.String.format;
+import static java.nio.file.Files.newBufferedWriter;
+
+/**
+ * # StreamingComparison
+ *
+ * Compares an output produced chunk by chunk with the content of an *approved* file, without ever holding the whole
+ * output nor the whole file in memory.
+ *
+ * Each chunk is compared as soon as it is appended, with the same rules as {@link
+ * com.github.writethemfirst.approvals.utils.StringUtils#sameContent(CharSequence, CharSequence)}. Nothing is written
+ * as long as the output matches the *approved* file. When the first difference is found, the *received* file is
+ * created with the part of the output which matched, and all the next chunks are written straight to it.
+ *
+ * The *received* file holds the output exactly as it was produced, like the one written when verifying a whole output.
+ * The part which matched is read back from the *approved* file, so only the kind of each of its line endings (`\n` or
+ * `\r\n`) is kept in memory, as a single bit per line.
+ */
+public class StreamingComparison implements Closeable {
+    private static final int END = -1;
+
+    private final ApprovalFiles files;
+    private final NormalizedReader approvedReader;
+    private final boolean approvedEmpty;
+    private long matchedChars = 0;
+    private int pendingLineEndings = 0;
+    private boolean approvedEnded = false;
+    private boolean pendingCarriageReturn = false;
+    private boolean outputEmpty = true;
+    private final BitSet crlfLineEndings = new BitSet();
+    private int lineEndings = 0;
+    private Writer receivedWriter;
+
+    /**
+     * Starts comparing an output with the *approved* file of the provided {@link ApprovalFiles}.
+     *
+     * @param files The *approved* file to compare the output to, and the *received* file to write in case of mismatch
+     */
+    public StreamingComparison(final ApprovalFiles files) {
+        this.files = files;
+        this.approvedEmpty = files.approved.toFile().length() == 0;
+        this.approvedReader = new NormalizedReader(files.approved);
+    }
+
+    /**
+     * Compares the next chunk of output, or writes it in the *received* file if a difference was already found.
+     *
+     * @param chunk The next part of the output
+     */
+    public void append(final CharSequence chunk) {
+        try {
+            for (int i = 0; i < chunk.length(); i++) {
+                final char c = chunk.charAt(i);
+                outputEmpty = false;
+                if (pendingCarriageReturn) {
+                    pendingCarriageReturn = false;
+                    if (c == '\n') {
+                        accept('\n', true);
+                        continue;
+                    }
+                    accept('\r', false);
+                }
+                if (c == '\r') {
+                    pendingCarriageReturn = true;
+                } else {
+                    accept(c, false);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ends the output and checks if it has the same content as the *approved* file. The *received* file is complete
+     * once this method returns false.
+     *
+     * @return true if the whole output matches the *approved* file
+     */
+    public boolean matches() {
+        try {
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+                accept('\r', false);
+            }
+            if (receivedWriter == null && !approvedEnded && !approvedReader.onlyLineEndingsLeft()) {
+                startReceived();
+            }
+            if (receivedWriter == null && outputEmpty != approvedEmpty) {
+                startReceived();
+            }
+            close();
+            return receivedWriter == null;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compares a char of the normalized output, `crlf` telling if a line ending was a `\r\n` in the output.
+     */
+    private void accept(final char c, final boolean crlf) throws IOException {
+        if (receivedWriter != null) {
+            writeReceived(c, crlf);
+        } else if (approvedEnded) {
+            if (c == '\n') {
+                pendingLineEndings++;
+                recordLineEnding(crlf);
+            } else {
+                mismatch(c, crlf);
+            }
+        } else {
+            final int a = approvedReader.next();
+            if (a == c) {
+                matchedChars++;
+                if (c == '\n') {
+                    recordLineEnding(crlf);
+                }
+            } else if (a == END && c == '\n') {
+                approvedEnded = true;
+                pendingLineEndings++;
+                recordLineEnding(crlf);
+            } else {
+                mismatch(c, crlf);
+            }
+        }
+    }
+
+    private void recordLineEnding(final boolean crlf) {
+        crlfLineEndings.set(lineEndings++, crlf);
+    }
+
+    private void mismatch(final char c, final boolean crlf) throws IOException {
+        startReceived();
+        writeReceived(c, crlf);
+    }
+
+    /**
+     * Writes a char of the output as it was produced.
+     */
+    private void writeReceived(final int c, final boolean crlf) throws IOException {
+        if (crlf) {
+            receivedWriter.write('\r');
+        }
+        receivedWriter.write(c);
+    }
+
+    /**
+     * Creates the *received* file, starting with the part of the output which already matched the *approved* file,
+     * read back from the *approved* file with the line endings of the output.
+     */
+    private void startReceived() throws IOException {
+        createParentDirectories(files.received);
+        receivedWriter = newBufferedWriter(files.received, charset());
+        int lineEnding = 0;
+        try (final NormalizedReader matchedPart = new NormalizedReader(files.approved)) {
+            for (long i = 0; i < matchedChars; i++) {
+                final int c = matchedPart.next();
+                writeReceived(c, c == '\n' && crlfLineEndings.get(lineEnding++));
+            }
+        }
+        for (; pendingLineEndings > 0; pendingLineEndings--) {
+            writeReceived('\n', crlfLineEndings.get(lineEnding++));
+        }
+        crlfLineEndings.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        approvedReader.close();
+        if (receivedWriter != null) {
+            receivedWriter.close();
+        }
+    }
+
+    /**
+     * Reads the *approved* file char by char (in the charset of the *approval* files, see {@link
+     * com.github.writethemfirst.approvals.utils.FileUtils#charset()}), replacing `\r\n` by `\n`. A missing file is
+     * read as an empty file.
+     */
+    private static class NormalizedReader implements Closeable {
+        private final Reader reader;
+        private final char[] buffer = new char[8 * 1024];
+        private int length = 0;
+        private int position = 0;
+        private int lookAhead = END;
+        private boolean hasLookAhead = false;
+
+        NormalizedReader(final Path file) {
+            this.reader = open(file);
+        }
+
+        private static Reader open(final Path file) {
+            if (!file.toFile().isFile()) {
+                return new StringReader("");
+            }
+            try {
+                return new InputStreamReader(Files.newInputStream(file), charset());
+            } catch (final IOException e) {
+                System.err.println(format("Can't read the file located at <%s>.", file));
+                System.err.println(e);
+                return new StringReader("");
+            }
+        }
+
+        int next() throws IOException {
+            final int c = read();
+            if (c == '\r') {
+                final int following = read();
+                if (following == '\n') {
+                    return '\n';
+                }
+                lookAhead = following;
+                hasLookAhead = true;
+            }
+            return c;
+        }
+
+        boolean onlyLineEndingsLeft() throws IOException {
+            int c = next();
+            while (c == '\n') {
+                c = next();
+            }
+            return c == END;
+        }
+
+        private int read() throws IOException {
+            if (hasLookAhead) {
+                hasLookAhead = false;
+                return lookAhead;
+            }
+            if (position == length) {
+                length = reader.read(buffer);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return END;
+                }
+            }
+            return buffer[position++];
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
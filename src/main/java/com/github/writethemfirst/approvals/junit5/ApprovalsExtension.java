@@ -0,0 +1,68 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.junit5;
+
+import com.github.writethemfirst.approvals.utils.stack.CurrentTest;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * # ApprovalsExtension
+ *
+ * JUnit 5 extension publishing the test class and test method about to be run (see {@link CurrentTest}), so the
+ * *Approval Files* are named without searching the current thread stacktrace.
+ *
+ * It also works for tests calling `Approvals` from lambdas or from nested classes, and gives distinct *Approval
+ * Files* to each invocation of parameterized or repeated tests: the method name is then suffixed by the invocation
+ * index (`myTest_1`, `myTest_2`...).
+ *
+ * It is enabled with `@ExtendWith(ApprovalsExtension.class)` on a test class. JUnit 5 isn't a required dependency
+ * of the library, it has to be provided by the tests.
+ */
+public class ApprovalsExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final String INVOCATION_SEGMENT = "[test-template-invocation:#";
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        final Method testMethod = context.getRequiredTestMethod();
+        CurrentTest.start(context.getRequiredTestClass().getName(), testMethod.getName() + invocationSuffix(context));
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        CurrentTest.end();
+    }
+
+    /**
+     * Returns the suffix to be used for an invocation of a test template (`@ParameterizedTest`, `@RepeatedTest`...),
+     * or an empty String for a standard test.
+     */
+    private static String invocationSuffix(final ExtensionContext context) {
+        final String uniqueId = context.getUniqueId();
+        final int segment = uniqueId.lastIndexOf(INVOCATION_SEGMENT);
+        if (segment < 0) {
+            return "";
+        }
+        final int start = segment + INVOCATION_SEGMENT.length();
+        final int end = uniqueId.indexOf(']', start);
+        return "_" + uniqueId.substring(start, end < 0 ? uniqueId.length() : end);
+    }
+}
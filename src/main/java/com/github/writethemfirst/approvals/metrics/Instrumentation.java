@@ -0,0 +1,86 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * # Instrumentation
+ *
+ * Holds the {@link VerificationListener}s to be notified of the metrics of each verification.
+ *
+ * Listeners declared using SPI are loaded on the first verification. The built-in {@link MetricsCollector} is
+ * registered as well when the system property `APPROVALS_METRICS` is `true`.
+ */
+public class Instrumentation {
+    private static volatile List<VerificationListener> listeners;
+
+    /**
+     * Returns a recorder for a new verification. It is disabled (and costs nothing) if no listener is registered.
+     *
+     * @param testClass The name of the test class doing the verification
+     * @return The recorder to be used for all the steps of that verification
+     */
+    public static VerificationRecorder recorder(final String testClass) {
+        final List<VerificationListener> current = getListeners();
+        return current.isEmpty() ? VerificationRecorder.DISABLED : new VerificationRecorder(testClass, current);
+    }
+
+    /**
+     * Registers a listener, notified of all the next verifications.
+     */
+    public static void register(final VerificationListener listener) {
+        getListeners().add(listener);
+    }
+
+    /**
+     * Unregisters a listener, which won't be notified anymore.
+     */
+    public static void unregister(final VerificationListener listener) {
+        getListeners().remove(listener);
+    }
+
+    public static boolean isCollectingMetrics() {
+        return "true".equals(System.getProperty("APPROVALS_METRICS"));
+    }
+
+    static List<VerificationListener> getListeners() {
+        List<VerificationListener> current = listeners;
+        if (current == null) {
+            synchronized (Instrumentation.class) {
+                current = listeners;
+                if (current == null) {
+                    current = loadListeners();
+                    listeners = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static List<VerificationListener> loadListeners() {
+        final List<VerificationListener> loaded = new CopyOnWriteArrayList<>();
+        ServiceLoader.load(VerificationListener.class).forEach(loaded::add);
+        if (isCollectingMetrics()) {
+            loaded.add(new MetricsCollector());
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.lang.String.format;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * # MetricsCollector
+ *
+ * {@link VerificationListener} aggregating the metrics of all verifications per test class, and writing a summary at
+ * JVM shutdown, as a CSV file (`target/approvals-metrics.csv` by default, or the file named by the system property
+ * `APPROVALS_METRICS_FILE`).
+ *
+ * The summary has one line per test class, the slowest first, with the number of verifications and mismatches, the
+ * total durations (in milliseconds) and the number of bytes read and written. It can be enabled with the system
+ * property `APPROVALS_METRICS=true`.
+ */
+public class MetricsCollector implements VerificationListener {
+    private static final String HEADER = "test_class,verifications,mismatches,total_ms,caller_resolution_ms,read_ms," +
+        "compare_ms,write_ms,bytes_read,bytes_written";
+
+    private final Path summaryFile;
+    private final Map<String, ClassMetrics> metricsByClass = new ConcurrentHashMap<>();
+    private final AtomicBoolean hookRegistered = new AtomicBoolean();
+    private final AtomicBoolean collectedSinceSummary = new AtomicBoolean();
+
+    /**
+     * Collects the metrics, to be written at JVM shutdown in the default summary file.
+     */
+    public MetricsCollector() {
+        this(Paths.get(System.getProperty("APPROVALS_METRICS_FILE", "target/approvals-metrics.csv")));
+    }
+
+    /**
+     * Collects the metrics, to be written at JVM shutdown in the provided file.
+     *
+     * @param summaryFile The CSV file to be written
+     */
+    public MetricsCollector(final Path summaryFile) {
+        this.summaryFile = summaryFile;
+    }
+
+    @Override
+    public void verified(final VerificationMetrics metrics) {
+        metricsByClass.computeIfAbsent(metrics.testClass, ClassMetrics::new).add(metrics);
+        collectedSinceSummary.set(true);
+        if (hookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (collectedSinceSummary.get()) {
+                    writeSummary();
+                }
+            }));
+        }
+    }
+
+    /**
+     * Returns the summary of all the verifications collected so far, as CSV.
+     */
+    public String summary() {
+        return metricsByClass.values().stream()
+            .map(ClassMetrics::snapshot)
+            .sorted(comparingLong(ClassMetrics::totalNanos).reversed())
+            .map(ClassMetrics::toCsv)
+            .collect(joining("\n", HEADER + "\n", "\n"));
+    }
+
+    /**
+     * Writes the summary of all the verifications collected so far in the summary file.
+     */
+    public void writeSummary() {
+        collectedSinceSummary.set(false);
+        write(summary(), summaryFile);
+        System.out.printf("Approvals metrics written to %s%n", summaryFile.toAbsolutePath());
+    }
+
+    private static class ClassMetrics {
+        private final String testClass;
+        private long verifications;
+        private long mismatches;
+        private long callerResolutionNanos;
+        private long readNanos;
+        private long compareNanos;
+        private long writeNanos;
+        private long bytesRead;
+        private long bytesWritten;
+
+        ClassMetrics(final String testClass) {
+            this.testClass = testClass;
+        }
+
+        synchronized void add(final VerificationMetrics metrics) {
+            verifications++;
+            mismatches += metrics.matches ? 0 : 1;
+            callerResolutionNanos += metrics.callerResolutionNanos;
+            readNanos += metrics.readNanos;
+            compareNanos += metrics.compareNanos;
+            writeNanos += metrics.writeNanos;
+            bytesRead += metrics.bytesRead;
+            bytesWritten += metrics.bytesWritten;
+        }
+
+        synchronized ClassMetrics snapshot() {
+            final ClassMetrics snapshot = new ClassMetrics(testClass);
+            snapshot.verifications = verifications;
+            snapshot.mismatches = mismatches;
+            snapshot.callerResolutionNanos = callerResolutionNanos;
+            snapshot.readNanos = readNanos;
+            snapshot.compareNanos = compareNanos;
+            snapshot.writeNanos = writeNanos;
+            snapshot.bytesRead = bytesRead;
+            snapshot.bytesWritten = bytesWritten;
+            return snapshot;
+        }
+
+        long totalNanos() {
+            return callerResolutionNanos + readNanos + compareNanos + writeNanos;
+        }
+
+        String toCsv() {
+            return format(Locale.ROOT, "%s,%d,%d,%s,%s,%s,%s,%s,%d,%d",
+                testClass, verifications, mismatches, millis(totalNanos()), millis(callerResolutionNanos),
+                millis(readNanos), millis(compareNanos), millis(writeNanos), bytesRead, bytesWritten);
+        }
+
+        private static String millis(final long nanos) {
+            return format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+/**
+ * # VerificationListener
+ *
+ * Receives the metrics of each verification done by an `Approver`.
+ *
+ * Listeners are declared using SPI (in `META-INF/services/com.github.writethemfirst.approvals.metrics.VerificationListener`)
+ * or registered with {@link Instrumentation#register(VerificationListener)}. When no listener is declared, nothing is
+ * measured at all.
+ *
+ * Listeners are called by the threads running the tests, so they have to be thread-safe.
+ */
+public interface VerificationListener {
+    /**
+     * Called once a verification is done, before its mismatch (if any) is reported.
+     *
+     * @param metrics The measures of the verification
+     */
+    void verified(VerificationMetrics metrics);
+}
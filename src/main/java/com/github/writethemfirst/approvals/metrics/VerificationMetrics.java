@@ -0,0 +1,84 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+import java.nio.file.Path;
+
+/**
+ * # VerificationMetrics
+ *
+ * Measures of a single verification of an output (a text, a file or a folder) against its *approved* file or folder.
+ *
+ * Durations are in nanoseconds:
+ *
+ * - `callerResolutionNanos` is the time spent naming the *approved* file (searching the test method in the stacktrace),
+ * - `readNanos` is the time spent reading the output when it is a file,
+ * - `compareNanos` is the time spent comparing the output with the *approved* and *received* files. The files are
+ * read while being compared, so it includes reading them (and for folders, copying the mismatching files),
+ * - `writeNanos` is the time spent writing *received* files, or *approved* files when auto-approving.
+ */
+public class VerificationMetrics {
+    /**
+     * The name of the test class.
+     */
+    public final String testClass;
+
+    /**
+     * The *approved* file or folder.
+     */
+    public final Path approved;
+
+    /**
+     * True if the output matched the *approved* file or folder.
+     */
+    public final boolean matches;
+
+    public final long callerResolutionNanos;
+    public final long readNanos;
+    public final long compareNanos;
+    public final long writeNanos;
+    public final long bytesRead;
+    public final long bytesWritten;
+
+    public VerificationMetrics(final String testClass,
+                               final Path approved,
+                               final boolean matches,
+                               final long callerResolutionNanos,
+                               final long readNanos,
+                               final long compareNanos,
+                               final long writeNanos,
+                               final long bytesRead,
+                               final long bytesWritten) {
+        this.testClass = testClass;
+        this.approved = approved;
+        this.matches = matches;
+        this.callerResolutionNanos = callerResolutionNanos;
+        this.readNanos = readNanos;
+        this.compareNanos = compareNanos;
+        this.writeNanos = writeNanos;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Returns the total time spent in the verification, in nanoseconds.
+     */
+    public long totalNanos() {
+        return callerResolutionNanos + readNanos + compareNanos + writeNanos;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+import com.github.writethemfirst.approvals.utils.FileTreeWalker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+
+/**
+ * # VerificationRecorder
+ *
+ * Measures the steps of a single verification, run by a single thread, and notifies the {@link VerificationListener}s
+ * with the resulting {@link VerificationMetrics} once it is done.
+ *
+ * When no listener is registered, the recorder is disabled: steps are simply run, without calling the clock or
+ * computing any file size.
+ */
+public class VerificationRecorder {
+    static final VerificationRecorder DISABLED = new VerificationRecorder("", Collections.emptyList());
+
+    private final String testClass;
+    private final List<VerificationListener> listeners;
+    private long callerResolutionNanos;
+    private long readNanos;
+    private long compareNanos;
+    private long writeNanos;
+    private long bytesRead;
+    private long bytesWritten;
+
+    VerificationRecorder(final String testClass, final List<VerificationListener> listeners) {
+        this.testClass = testClass;
+        this.listeners = listeners;
+    }
+
+    private boolean isEnabled() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Runs and measures the search of the test method, used to name the *approved* file.
+     */
+    public <T> T resolveCaller(final Supplier<T> resolution) {
+        if (!isEnabled()) {
+            return resolution.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return resolution.get();
+        } finally {
+            callerResolutionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Runs and measures the reading of the output file.
+     */
+    public <T> T read(final Path read, final Supplier<T> reading) {
+        if (!isEnabled()) {
+            return reading.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return reading.get();
+        } finally {
+            readNanos += System.nanoTime() - start;
+            bytesRead += size(read);
+        }
+    }
+
+    /**
+     * Runs and measures a comparison with the file (or the files of the folder) `compared`, which is read during the
+     * comparison.
+     */
+    public <T> T compare(final Path compared, final Supplier<T> comparison) {
+        if (!isEnabled()) {
+            return comparison.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return comparison.get();
+        } finally {
+            compareNanos += System.nanoTime() - start;
+            bytesRead += size(compared);
+        }
+    }
+
+    /**
+     * Runs and measures the writing of the file (or the files of the folder) `written`.
+     */
+    public void write(final Path written, final Runnable writing) {
+        if (!isEnabled()) {
+            writing.run();
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            writing.run();
+        } finally {
+            writeNanos += System.nanoTime() - start;
+            bytesWritten += size(written);
+        }
+    }
+
+    /**
+     * Counts the size of files read without being measured by {@link #read(Path, Supplier)} or
+     * {@link #compare(Path, Supplier)}.
+     */
+    public void bytesRead(final Path read) {
+        if (isEnabled()) {
+            bytesRead += size(read);
+        }
+    }
+
+    /**
+     * Counts the size of files written without being measured by {@link #write(Path, Runnable)}.
+     */
+    public void bytesWritten(final Path written) {
+        if (isEnabled()) {
+            bytesWritten += size(written);
+        }
+    }
+
+    /**
+     * Notifies the listeners that the verification is done. A failing listener never fails the verification.
+     *
+     * @param approved The *approved* file or folder
+     * @param matches  True if the output matched the *approved* file or folder
+     */
+    public void verified(final Path approved, final boolean matches) {
+        if (!isEnabled()) {
+            return;
+        }
+        final VerificationMetrics metrics = new VerificationMetrics(testClass, approved, matches,
+            callerResolutionNanos, readNanos, compareNanos, writeNanos, bytesRead, bytesWritten);
+        for (final VerificationListener listener : listeners) {
+            try {
+                listener.verified(metrics);
+            } catch (final RuntimeException e) {
+                System.err.println("Verification listener " + listener + " failed: " + e);
+            }
+        }
+    }
+
+    private static long size(final Path path) {
+        if (Files.isDirectory(path)) {
+            return FileTreeWalker.walk(path, FileTreeWalker.defaultMaxDepth()).stream()
+                .mapToLong(entry -> entry.size)
+                .sum();
+        }
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * # Metrics Package
+ *
+ * *Approval Tests* read, compare and write files, and search the current thread stacktrace for the test class and
+ * method. In large test suites, that time can become significant, and it isn't easy to tell it apart from the time
+ * spent in the *Program Under Tests*.
+ *
+ * That package allows to measure each verification: {@link com.github.writethemfirst.approvals.metrics.VerificationListener}s
+ * are notified with the {@link com.github.writethemfirst.approvals.metrics.VerificationMetrics} of each verification,
+ * and the {@link com.github.writethemfirst.approvals.metrics.MetricsCollector} aggregates them per test class to dump
+ * a summary when the tests are finished.
+ */
+package com.github.writethemfirst.approvals.metrics;
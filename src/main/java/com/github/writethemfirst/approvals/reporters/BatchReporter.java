@@ -0,0 +1,188 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.reporters;
+
+import com.github.writethemfirst.approvals.Reporter;
+import com.github.writethemfirst.approvals.files.ApprovalFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.copy;
+import static com.github.writethemfirst.approvals.utils.FileUtils.createParentDirectories;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRecursiveRemove;
+
+/**
+ * # BatchReporter
+ *
+ * Reporter collecting all the mismatches of a test run, to report them all at once with a single directory diff,
+ * instead of launching a diff tool for each mismatch.
+ *
+ * When the mismatches are reported (at JVM shutdown, or when {@link #flush()} is called), the *approved* and
+ * *received* files are staged in 2 folders of a temporary staging folder. Both files of a pair are staged with the
+ * path of the *approved* file relative to the working directory, so the diff tool can match them, and those 2 folders
+ * are given to the delegate reporter, as a single pair of *approved* and *received* "files". Most diff tools can
+ * compare folders.
+ *
+ * Staged files are symbolic links to the actual files when the file system allows it, so merging in the diff tool
+ * changes the actual *approved* files. Otherwise they are copies, and changes made in the diff tool aren't applied.
+ *
+ * Nothing is staged if the delegate reporter can't compare folders, which means it isn't available or it is a {@link
+ * ThrowsReporter} (as {@link Reporter#DEFAULT} is in CI). At JVM shutdown, a {@link CommandReporter} is launched
+ * asynchronously (see {@link CommandReporter#async()}) so it doesn't hold up the exit, and its staging folder is left
+ * in the temporary directory for the diff tool to read. Otherwise, the staging folder is removed once the delegate
+ * reporter returns.
+ */
+public class BatchReporter implements Reporter {
+    private final Reporter delegate;
+    private final List<ApprovalFiles> mismatches = new ArrayList<>();
+    private boolean hookRegistered = false;
+
+    /**
+     * Batches the mismatches to be reported with {@link Reporter#DEFAULT}.
+     */
+    public BatchReporter() {
+        this(DEFAULT);
+    }
+
+    /**
+     * Batches the mismatches to be reported with the provided reporter.
+     *
+     * @param delegate The reporter to be called once, with the staged *approved* and *received* folders
+     */
+    public BatchReporter(final Reporter delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Collects the mismatch, to be reported later with all the others.
+     */
+    @Override
+    public synchronized void mismatch(final ApprovalFiles files) {
+        mismatches.add(files);
+        if (!hookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(true)));
+            hookRegistered = true;
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    /**
+     * Reports all the mismatches collected so far with a single call to the delegate reporter, and forgets them.
+     */
+    public synchronized void flush() {
+        flush(false);
+    }
+
+    /**
+     * Reports all the mismatches collected so far, launching the diff tool asynchronously when called at JVM shutdown.
+     */
+    private synchronized void flush(final boolean shutdown) {
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        final Optional<Reporter> reporter = folderReporter(delegate, shutdown);
+        if (!reporter.isPresent()) {
+            System.err.printf("No reporter available to report %d batched mismatches%n", mismatches.size());
+            mismatches.clear();
+            return;
+        }
+        try {
+            final Path staging = Files.createTempDirectory("approvals-batch");
+            final ApprovalFiles stagedFolders =
+                new ApprovalFiles(staging.resolve("approved"), staging.resolve("received"));
+            for (final ApprovalFiles mismatch : mismatches) {
+                final Path name = relativeName(mismatch.approved);
+                stage(mismatch.approved, stagedFolders.approved.resolve(name));
+                stage(mismatch.received, stagedFolders.received.resolve(name));
+            }
+            mismatches.clear();
+            System.out.printf("Reporting all mismatches at once, staged in %s%n", staging);
+            try {
+                reporter.get().mismatch(stagedFolders);
+            } finally {
+                if (!shutdown || !(reporter.get() instanceof CommandReporter)) {
+                    silentRecursiveRemove(staging);
+                }
+            }
+        } catch (final IOException e) {
+            System.err.println("Can't stage the mismatches to be reported");
+            System.err.println(e);
+        }
+    }
+
+    /**
+     * Returns the reporter actually used by the provided one (searching for it if needed), if it can compare the staged
+     * folders. A {@link CommandReporter} is made asynchronous when reporting at JVM shutdown.
+     *
+     * @param reporter The delegate reporter, which may be a {@link DefaultReporter} or a {@link FirstWorkingReporter}
+     * @param shutdown true if the mismatches are reported at JVM shutdown
+     * @return The reporter to be called with the staged folders, or empty if there is none
+     */
+    static Optional<Reporter> folderReporter(final Reporter reporter, final boolean shutdown) {
+        if (reporter instanceof DefaultReporter) {
+            return folderReporter(((DefaultReporter) reporter).reporter(), shutdown);
+        }
+        if (reporter instanceof FirstWorkingReporter) {
+            return ((FirstWorkingReporter) reporter).firstWorking()
+                .flatMap(firstWorking -> folderReporter(firstWorking, shutdown));
+        }
+        if (!reporter.isAvailable() || reporter instanceof ThrowsReporter) {
+            return Optional.empty();
+        }
+        if (shutdown && reporter instanceof CommandReporter) {
+            return Optional.of(((CommandReporter) reporter).async());
+        }
+        return Optional.of(reporter);
+    }
+
+    private static void stage(final Path file, final Path staged) throws IOException {
+        if (!file.toFile().exists()) {
+            return;
+        }
+        createParentDirectories(staged);
+        try {
+            Files.createSymbolicLink(staged, file.toAbsolutePath());
+        } catch (final IOException | UnsupportedOperationException e) {
+            copy(file, staged);
+        }
+    }
+
+    /**
+     * Returns the path of the file relative to the working directory, or its absolute path without its root if it is
+     * outside of the working directory.
+     */
+    private static Path relativeName(final Path file) {
+        final Path absolute = file.toAbsolutePath().normalize();
+        final Path workingDirectory = Paths.get("").toAbsolutePath();
+        if (absolute.startsWith(workingDirectory)) {
+            return workingDirectory.relativize(absolute);
+        }
+        final Path root = absolute.getRoot();
+        return root == null ? absolute : root.relativize(absolute);
+    }
+}
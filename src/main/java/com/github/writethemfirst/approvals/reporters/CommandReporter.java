@@ -27,6 +27,7 @@ import java.nio.file.Path;
 import java.util.Optional;
 
 import static com.github.writethemfirst.approvals.reporters.Environment.isInCi;
+import static com.github.writethemfirst.approvals.utils.ApprovalEvents.launchReporter;
 import static java.util.Arrays.stream;
 
 /**
@@ -37,11 +38,20 @@ public class CommandReporter implements Reporter {
     final String[] arguments;
     final ExecutableCommand executableCommand;
     private final boolean available;
+    private final boolean async;
 
     public CommandReporter(final ExecutableCommand command, final String... arguments) {
-        this.available = command.isAvailable() && !isInCi();
+        this(command, arguments, command.isAvailable() && !isInCi(), isAsyncByDefault());
+    }
+
+    private CommandReporter(final ExecutableCommand command,
+                            final String[] arguments,
+                            final boolean available,
+                            final boolean async) {
+        this.available = available;
         this.executableCommand = command;
         this.arguments = arguments;
+        this.async = async;
     }
 
     public CommandReporter(final CommandFinder command) {
@@ -57,6 +67,7 @@ public class CommandReporter implements Reporter {
 
     private CommandReporter(final CommandFinder command, final String... arguments) {
         this.arguments = arguments;
+        this.async = isAsyncByDefault();
         final Optional<ExecutableCommand> executableCommand = command.executableCommand();
         if (executableCommand.isPresent()) {
             this.executableCommand = executableCommand.get();
@@ -67,13 +78,38 @@ public class CommandReporter implements Reporter {
         }
     }
 
+    /**
+     * Returns a copy of this reporter which starts the command and returns immediately, instead of waiting for the
+     * command to finish (see {@link ExecutableCommand#start(String...)}), so a test doesn't wait for the diff tool
+     * window to be closed.
+     *
+     * The asynchronous mode can also be enabled for all the reporters by setting the `APPROVALS_ASYNC_REPORTER` system
+     * property to `true`.
+     *
+     * @return a copy of this reporter, running its command asynchronously
+     */
+    public CommandReporter async() {
+        return new CommandReporter(executableCommand, arguments, available, true);
+    }
+
+    private static boolean isAsyncByDefault() {
+        return "true".equals(System.getProperty("APPROVALS_ASYNC_REPORTER"));
+    }
+
     @Override
     public void mismatch(final ApprovalFiles files) {
-        try {
-            executableCommand.execute(actualArguments(files.approved.toAbsolutePath(), files.received.toAbsolutePath()));
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
-        }
+        final String[] actualArguments = actualArguments(files.approved.toAbsolutePath(), files.received.toAbsolutePath());
+        launchReporter(toString(), files.approved, () -> {
+            try {
+                if (async) {
+                    executableCommand.start(actualArguments);
+                } else {
+                    executableCommand.execute(actualArguments);
+                }
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     @Override
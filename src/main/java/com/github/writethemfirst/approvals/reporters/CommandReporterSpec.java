@@ -43,7 +43,15 @@ public class CommandReporterSpec {
     }
 
     public CommandReporter reporter() {
-        return new CommandReporter(finder(), arguments);
+        return reporter(finder());
+    }
+
+    /**
+     * Builds the reporter from a finder which may already have been resolved (see {@link
+     * com.github.writethemfirst.approvals.utils.CommandDiscovery}).
+     */
+    public CommandReporter reporter(final CommandFinder finder) {
+        return new CommandReporter(finder, arguments);
     }
 
     public CommandFinder finder() {
@@ -0,0 +1,70 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.reporters;
+
+import com.github.writethemfirst.approvals.Reporter;
+import com.github.writethemfirst.approvals.files.ApprovalFiles;
+
+/**
+ * # DefaultReporter
+ *
+ * Reporter used by default, delegating to the native diff or merge tool of the current OS (see {@link
+ * SupportedOs#osDefaultReporter()}), or to {@link Reporter#BASIC} if none can be found.
+ *
+ * Searching for that tool means reading (or initializing) the configuration file and walking the folders where tools
+ * are usually installed, so it is only done when the reporter is actually needed, which means on the first mismatch.
+ * When all the tests match, nothing is searched at all. The search is done once, and shared by all the threads.
+ */
+public class DefaultReporter implements Reporter {
+    private volatile Reporter reporter;
+
+    @Override
+    public void mismatch(final ApprovalFiles files) {
+        reporter().mismatch(files);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return reporter().isAvailable();
+    }
+
+    /**
+     * Returns the reporter to delegate to, searching for it on the first call.
+     *
+     * @return The reporter of the OS, or {@link Reporter#BASIC}
+     */
+    Reporter reporter() {
+        Reporter current = reporter;
+        if (current == null) {
+            synchronized (this) {
+                current = reporter;
+                if (current == null) {
+                    current = SupportedOs.osDefaultReporter().orElse(BASIC);
+                    reporter = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        final Reporter current = reporter;
+        return current == null ? "DefaultReporter (not searched yet)" : current.toString();
+    }
+}
@@ -18,13 +18,16 @@
 package com.github.writethemfirst.approvals.reporters;
 
 import com.github.writethemfirst.approvals.Reporter;
+import com.github.writethemfirst.approvals.utils.CommandFinder;
 import com.github.writethemfirst.approvals.utils.ExecutableCommand;
 import com.github.writethemfirst.approvals.utils.FileUtils;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.writethemfirst.approvals.reporters.Environment.isInCi;
@@ -83,16 +86,18 @@ class ReporterConfiguration {
     }
 
     static void write() {
-        SupportedOs.activeOs().ifPresent(os ->
+        SupportedOs.activeOs().ifPresent(os -> {
+            final List<CommandFinder> finders = os.discoveredFinders();
             FileUtils.write(
-                os.specs.stream()
-                    .flatMap(s ->
-                        s.finder().searchForAllExe().map(e ->
-                            format("# %s %s %s%n", e, separator, join(" ", s.arguments))))
+                IntStream.range(0, os.specs.size())
+                    .boxed()
+                    .flatMap(i ->
+                        finders.get(i).searchForAllExe().map(e ->
+                            format("# %s %s %s%n", e, separator, join(" ", os.specs.get(i).arguments))))
                     .collect(Collectors.joining("")),
                 dotFile
-            )
-        );
+            );
+        });
 
     }
 }
@@ -21,13 +21,17 @@ import com.github.writethemfirst.approvals.Reporter;
 import com.github.writethemfirst.approvals.reporters.linux.Linux;
 import com.github.writethemfirst.approvals.reporters.macos.MacOs;
 import com.github.writethemfirst.approvals.reporters.windows.Windows;
+import com.github.writethemfirst.approvals.utils.CommandDiscovery;
+import com.github.writethemfirst.approvals.utils.CommandFinder;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static com.github.writethemfirst.approvals.reporters.ReporterConfiguration.dotFile;
 import static com.github.writethemfirst.approvals.reporters.ReporterConfiguration.read;
+import static java.util.stream.Collectors.toList;
 
 /**
  * # SupportedOs
@@ -67,7 +71,10 @@ public enum SupportedOs {
             System.out.printf("Using reporter configured in %s : %s%n", dotFile, configuredReporter.get());
             return configuredReporter.get();
         } else {
-            FirstWorkingReporter first = new FirstWorkingReporter(specs.stream().map(CommandReporterSpec::reporter).toArray(Reporter[]::new));
+            final List<CommandFinder> finders = discoveredFinders();
+            FirstWorkingReporter first = new FirstWorkingReporter(IntStream.range(0, specs.size())
+                .mapToObj(i -> specs.get(i).reporter(finders.get(i)))
+                .toArray(Reporter[]::new));
             if(first.firstWorking().isPresent()) {
                 Reporter reporter = first.firstWorking().get();
                 System.out.printf("No available reporter configured in %s, using %s%n", dotFile, reporter);
@@ -78,6 +85,18 @@ public enum SupportedOs {
         }
     }
 
+    /**
+     * Returns the finders of all the known specs for this OS, after searching for all of them at once (see {@link
+     * CommandDiscovery}).
+     *
+     * @return the finders, in the same order as the specs
+     */
+    List<CommandFinder> discoveredFinders() {
+        final List<CommandFinder> finders = specs.stream().map(CommandReporterSpec::finder).collect(toList());
+        CommandDiscovery.discover(finders);
+        return finders;
+    }
+
     /**
      * Identifies the current OS and the associated {@link Reporter}.
      *
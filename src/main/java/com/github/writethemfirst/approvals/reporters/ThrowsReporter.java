@@ -29,10 +29,35 @@ import com.github.writethemfirst.approvals.utils.StringUtils;
  * library to be present on the running machine.
  */
 public class ThrowsReporter implements Reporter {
+    private static final int DEFAULT_CONTEXT_LINES = 3;
+    private static final int DEFAULT_MAX_LENGTH = 20_000;
+
+    private final int contextLines;
+    private final int maxLength;
+
+    /**
+     * Constructs a {@link ThrowsReporter} whose messages contain a unified diff with 3 lines of context, truncated
+     * beyond 20 000 characters.
+     */
+    public ThrowsReporter() {
+        this(DEFAULT_CONTEXT_LINES, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Constructs a {@link ThrowsReporter} with a custom size for the unified diff included in its messages.
+     *
+     * @param contextLines The number of unchanged lines to be displayed around each change
+     * @param maxLength    The maximum number of characters of the diff, which is truncated beyond that limit
+     */
+    public ThrowsReporter(final int contextLines, final int maxLength) {
+        this.contextLines = contextLines;
+        this.maxLength = maxLength;
+    }
 
     @Override
     public void mismatch(final ApprovalFiles files) {
-        throw new AssertionError(StringUtils.describeDifferences(files.approvedContent(), files.receivedContent()));
+        throw new AssertionError(StringUtils.describeDifferences(
+            files.approvedContent(), files.receivedContent(), contextLines, maxLength));
     }
 
     /**
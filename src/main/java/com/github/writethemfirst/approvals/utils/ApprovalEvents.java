@@ -0,0 +1,77 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * # ApprovalEvents
+ *
+ * Marks the main operations of *Approval Tests* (verifying an output, searching the test method in the stacktrace,
+ * comparing files, staging folders and launching reporters), so they can be told apart when profiling tests.
+ *
+ * That version is a no-op, used on Java 8. On Java 11+, the version packaged in the multi-release part of the library
+ * jar records those operations as Java Flight Recorder events, in the *Approvals* category.
+ */
+public class ApprovalEvents {
+
+    /**
+     * Runs the verification of an output against the *approved* file or folder.
+     */
+    public static void verify(final Path approved, final Runnable verification) {
+        verification.run();
+    }
+
+    /**
+     * Runs the search of the test method of the test class in the current thread stacktrace.
+     */
+    public static <T> T callerLookup(final String testClass, final Supplier<T> lookup) {
+        return lookup.get();
+    }
+
+    /**
+     * Runs the comparison of a file with an output or another file, returning true if they match.
+     */
+    public static boolean compare(final Path compared, final BooleanSupplier comparison) {
+        return comparison.getAsBoolean();
+    }
+
+    /**
+     * Runs the staging of files in a folder (*received* folder or copy of mismatching files), returning what the
+     * staging produced (like the staged files).
+     */
+    public static <T> T stageFolder(final Path folder, final Supplier<T> staging) {
+        return staging.get();
+    }
+
+    /**
+     * Runs the staging of files in a folder, when the staging produces nothing (like copying a whole folder).
+     */
+    public static void stageFolder(final Path folder, final Runnable staging) {
+        staging.run();
+    }
+
+    /**
+     * Runs the launch of a reporter command for a mismatching *approved* file.
+     */
+    public static void launchReporter(final String command, final Path approved, final Runnable launch) {
+        launch.run();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.defaultParallelism;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * # CommandDiscovery
+ *
+ * Searches for several executables at once, for a group of {@link CommandFinder}s.
+ *
+ * Many of the known diff tools are searched in the same folders (like `/usr/bin` or `%programFiles%`). Instead of
+ * walking each folder once for each executable, each distinct folder is walked once, looking for all the executables
+ * expected in it, and distinct folders are walked in parallel. The executables found are then given to each {@link
+ * CommandFinder}, which doesn't search anything by itself anymore.
+ */
+public class CommandDiscovery {
+    private static final int MAX_FOLDERS_DEPTH = 5;
+
+    /**
+     * Searches for the executables of all the provided {@link CommandFinder}s.
+     *
+     * @param finders The finders to be resolved, in the order they would have been searched one by one
+     */
+    public static void discover(final List<CommandFinder> finders) {
+        final Map<Path, Set<String>> executablesByFolder = new LinkedHashMap<>();
+        finders.forEach(finder -> finder.searchFolders().forEach(folder ->
+            executablesByFolder.computeIfAbsent(folder, $ -> new LinkedHashSet<>()).add(finder.executable())));
+
+        final Map<Path, Map<String, List<Path>>> foundByFolder = inPool(defaultParallelism(), () ->
+            executablesByFolder.entrySet().parallelStream().collect(toMap(
+                Map.Entry::getKey,
+                entry -> searchInFolder(entry.getKey(), entry.getValue()))));
+
+        finders.forEach(finder -> finder.discovered(finder.searchFolders()
+            .flatMap(folder -> foundByFolder.get(folder).get(finder.executable()).stream())
+            .map(Path::toString)
+            .collect(toList())));
+    }
+
+    /**
+     * Searches for several executables in a folder, walking it only once (or not at all, if all the executables are
+     * found in the {@link DiscoveryCache}).
+     *
+     * @param folder      The folder to search
+     * @param executables The names of the executables to look for
+     * @return the executables found in the folder, for each name (in the order they are found)
+     */
+    static Map<String, List<Path>> searchInFolder(final Path folder, final Collection<String> executables) {
+        final Optional<DiscoveryCache> cache = DiscoveryCache.userCache();
+        final Map<String, List<Path>> found = new HashMap<>();
+        final List<String> notCached = new ArrayList<>();
+        for (final String executable : executables) {
+            final Optional<List<Path>> cached = cache.flatMap(c -> c.cached(folder, executable));
+            if (cached.isPresent()) {
+                found.put(executable, cached.get());
+            } else {
+                notCached.add(executable);
+            }
+        }
+        if (!notCached.isEmpty()) {
+            final Optional<Map<String, List<Path>>> walked = walk(folder, notCached);
+            for (final String executable : notCached) {
+                final List<Path> paths = walked.map(w -> w.get(executable)).orElseGet(Collections::emptyList);
+                found.put(executable, paths);
+                walked.ifPresent($ -> cache.ifPresent(c -> c.store(folder, executable, paths)));
+            }
+        }
+        return found;
+    }
+
+    private static Optional<Map<String, List<Path>>> walk(final Path folder, final List<String> executables) {
+        System.out.printf("Looking for a candidate diff tool in %s (looking for %s)%n", folder, String.join(", ", executables));
+        final Map<String, List<Path>> found = new HashMap<>();
+        executables.forEach(executable -> found.put(executable, new ArrayList<>()));
+        try {
+            Files.walkFileTree(folder, EnumSet.of(FOLLOW_LINKS), MAX_FOLDERS_DEPTH, new FileVisitorWithResult((p, a) -> {
+                for (final String executable : executables) {
+                    if (p.endsWith(executable)) {
+                        System.out.printf("Found a candidate diff tool : %s%n", executable);
+                        found.get(executable).add(p);
+                    }
+                }
+                return false;
+            }));
+            return Optional.of(found);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
@@ -17,18 +17,16 @@
  */
 package com.github.writethemfirst.approvals.utils;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.lang.Runtime.getRuntime;
 import static java.lang.System.getenv;
-import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
 import static java.nio.file.Paths.get;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.naturalOrder;
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.of;
@@ -39,7 +37,6 @@ import static java.util.stream.Stream.of;
  * It enables to look for the latest version based on folder names.
  */
 public class CommandFinder {
-    private static final int MAX_FOLDERS_DEPTH = 5;
     static String WINDOWS_ENV_PROGRAM_FILES = "ProgramFiles";
     static String WINDOWS_ENV_PROGRAM_FILES_X86 = "ProgramFiles(x86)";
     static final String PROGRAM_FILES_KEY = "%programFiles%";
@@ -50,6 +47,7 @@ public class CommandFinder {
     private final String executable;
     private ExecutableCommand cachedExecutableCommand;
     private boolean searched = false;
+    private List<String> discovered;
     private final String programFilesFolder;
     private final String programFilesX86Folder;
 
@@ -97,10 +95,11 @@ public class CommandFinder {
      * Finds all versions of an installed software.
      */
     public Stream<String> searchForAllExe() {
-        final Stream<Path> programFilesFolders = concat(replaced(programFilesFolder), replaced(programFilesX86Folder));
-        final Stream<Path> possiblePaths = concat(programFilesFolders, notReplaced());
+        if (discovered != null) {
+            return discovered.stream();
+        }
         try {
-            return possiblePaths
+            return searchFolders()
                 .flatMap(this::matchingCommandInPath)
                 .map(Path::toString);
         } catch (final Exception e) {
@@ -110,19 +109,26 @@ public class CommandFinder {
     }
 
     private Stream<Path> matchingCommandInPath(final Path possiblePath) {
-        System.out.printf("Looking for a candidate diff tool in %s (looking for %s)%n", possiblePath, executable);
-        try {
-            FileVisitorWithResult visitor = new FileVisitorWithResult((p, a) -> {
-                boolean found = p.endsWith(executable);
-                if(found) System.out.printf("Found a candidate diff tool : %s%n", executable);
-                return found;
-            });
-            Files.walkFileTree(possiblePath, EnumSet.of(FOLLOW_LINKS), MAX_FOLDERS_DEPTH, visitor);
-            return visitor.result;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return Stream.empty();
-        }
+        return CommandDiscovery.searchInFolder(possiblePath, singletonList(executable)).get(executable).stream();
+    }
+
+    /**
+     * Returns the existing folders in which the executable is searched.
+     */
+    Stream<Path> searchFolders() {
+        final Stream<Path> programFilesFolders = concat(replaced(programFilesFolder), replaced(programFilesX86Folder));
+        return concat(programFilesFolders, notReplaced());
+    }
+
+    String executable() {
+        return executable;
+    }
+
+    /**
+     * Stores the executables found for this finder by a {@link CommandDiscovery}, so it doesn't search by itself.
+     */
+    void discovered(final List<String> executables) {
+        this.discovered = executables;
     }
 
     private Stream<Path> replaced(final String folder) {
@@ -0,0 +1,98 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import com.github.writethemfirst.approvals.utils.MappedFileComparator.ByteSource;
+import com.github.writethemfirst.approvals.utils.MappedFileComparator.EncodedByteSource;
+import com.github.writethemfirst.approvals.utils.MappedFileComparator.NormalizedByteSource;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * # ContentDigest
+ *
+ * Computes a hash of a text which only depends on its lines: 2 texts considered as having the same content by {@link
+ * StringUtils#sameContent(CharSequence, CharSequence)} have the same digest.
+ *
+ * `\r\n` is replaced by `\n` and trailing line endings are ignored before hashing the UTF-8 bytes of the text.
+ */
+public class ContentDigest {
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Computes the digest of the provided content, once its line endings are normalized.
+     *
+     * @param content The text to be hashed
+     * @return An hexadecimal representation of the digest
+     */
+    public static String digest(final CharSequence content) {
+        final MessageDigest digest = newMessageDigest();
+        final ByteSource bytes = new NormalizedByteSource(new EncodedByteSource(content, UTF_8));
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        int pendingLineEndings = 0;
+        try {
+            for (int b = bytes.next(); b != -1; b = bytes.next()) {
+                if (b == '\n') {
+                    pendingLineEndings++;
+                    continue;
+                }
+                for (; pendingLineEndings > 0; pendingLineEndings--) {
+                    length = append(digest, buffer, length, '\n');
+                }
+                length = append(digest, buffer, length, b);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Encoding a text in memory can't fail", e);
+        }
+        digest.update(buffer, 0, length);
+        digest.update((byte) (content.length() == 0 ? 0 : 1));
+        return toHex(digest.digest());
+    }
+
+    private static int append(final MessageDigest digest, final byte[] buffer, final int length, final int b) {
+        if (length == buffer.length) {
+            digest.update(buffer, 0, length);
+            buffer[0] = (byte) b;
+            return 1;
+        }
+        buffer[length] = (byte) b;
+        return length + 1;
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is required on every Java platform", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
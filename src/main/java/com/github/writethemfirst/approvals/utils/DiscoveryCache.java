@@ -0,0 +1,166 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * # DiscoveryCache
+ *
+ * On-disk cache of the executables found by {@link CommandFinder}, shared by all the JVMs run on the machine (like the
+ * forked JVMs of a build), so the folders where diff tools are installed are only walked once.
+ *
+ * Each entry is keyed by OS, search folder and executable name, and stores the last modification time of the search
+ * folder with the executables found in it. An entry is only used if the folder still has the same modification time
+ * and all the executables found still exist.
+ *
+ * The cache is stored in `~/.approvals-java.discovery`. It can be disabled by setting the `APPROVALS_DISCOVERY_CACHE`
+ * system property to `false`.
+ */
+class DiscoveryCache {
+    private static final String SEPARATOR = "|";
+    private static final DiscoveryCache userCache =
+        new DiscoveryCache(Paths.get(System.getProperty("user.home"), ".approvals-java.discovery"));
+
+    private final Path file;
+    private Properties entries;
+
+    DiscoveryCache(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache of the current user, or an empty Optional if it is disabled.
+     */
+    static Optional<DiscoveryCache> userCache() {
+        return "false".equals(System.getProperty("APPROVALS_DISCOVERY_CACHE"))
+            ? Optional.empty()
+            : Optional.of(userCache);
+    }
+
+    /**
+     * Returns the executables found previously in the folder, if they are still valid.
+     *
+     * @param folder     The folder searched for the executable
+     * @param executable The name of the executable
+     * @return the executables found in the folder, or an empty Optional if the folder has to be walked again
+     */
+    synchronized Optional<List<Path>> cached(final Path folder, final String executable) {
+        final String entry = entries().getProperty(key(folder, executable));
+        final Optional<Long> lastModified = lastModified(folder);
+        if (entry == null || !lastModified.isPresent()) {
+            return Optional.empty();
+        }
+        final String[] values = entry.split(Pattern.quote(SEPARATOR));
+        if (!values[0].equals(lastModified.get().toString())) {
+            return Optional.empty();
+        }
+        final List<Path> found = new ArrayList<>();
+        for (int i = 1; i < values.length; i++) {
+            final Path executablePath = Paths.get(values[i]);
+            if (!executablePath.toFile().isFile()) {
+                return Optional.empty();
+            }
+            found.add(executablePath);
+        }
+        return Optional.of(found);
+    }
+
+    /**
+     * Stores the executables found in the folder, and saves the cache (merged with entries saved meanwhile by other
+     * JVMs).
+     *
+     * @param folder     The folder searched for the executable
+     * @param executable The name of the executable
+     * @param found      The executables found in the folder
+     */
+    synchronized void store(final Path folder, final String executable, final List<Path> found) {
+        lastModified(folder).ifPresent(lastModified -> {
+            final String entry = lastModified + found.stream().map(path -> SEPARATOR + path).collect(joining());
+            entries().setProperty(key(folder, executable), entry);
+            save();
+        });
+    }
+
+    private Properties entries() {
+        if (entries == null) {
+            entries = new Properties();
+            load(entries);
+        }
+        return entries;
+    }
+
+    private static String key(final Path folder, final String executable) {
+        return System.getProperty("os.name") + SEPARATOR + folder.toAbsolutePath() + SEPARATOR + executable;
+    }
+
+    private static Optional<Long> lastModified(final Path folder) {
+        try {
+            return Optional.of(Files.getLastModifiedTime(folder).toMillis());
+        } catch (final IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void load(final Properties properties) {
+        if (file.toFile().isFile()) {
+            try (final InputStream input = Files.newInputStream(file)) {
+                properties.load(input);
+            } catch (final IOException | IllegalArgumentException e) {
+                System.err.println(format("Can't read the discovery cache located at <%s>.", file));
+                System.err.println(e);
+            }
+        }
+    }
+
+    private void save() {
+        final Properties merged = new Properties();
+        load(merged);
+        merged.putAll(entries);
+        try {
+            final Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (final OutputStream output = Files.newOutputStream(temporary)) {
+                merged.store(output, "Diff tools found by Approvals-Java, safe to delete");
+            }
+            try {
+                Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            System.err.println(format("Can't write the discovery cache located at <%s>.", file));
+            System.err.println(e);
+        }
+    }
+}
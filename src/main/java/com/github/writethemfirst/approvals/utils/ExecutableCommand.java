@@ -19,6 +19,10 @@ package com.github.writethemfirst.approvals.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.String.join;
 import static java.nio.file.Paths.get;
@@ -59,6 +63,32 @@ public class ExecutableCommand {
         }
     }
 
+    /**
+     * Starts the executable outside the JVM and returns immediately, without waiting for it to finish.
+     *
+     * The standard input and outputs of the started process are the ones of the JVM. The process is tracked until it
+     * finishes (see {@link #runningProcesses()}). When the JVM exits, the processes still running are left running (so
+     * a diff tool window isn't closed when the tests end), unless the `APPROVALS_DESTROY_COMMANDS_ON_EXIT` system
+     * property is set to `true`.
+     *
+     * @return the started process
+     */
+    public Process start(final String... arguments) throws IOException {
+        final String[] cmdArray = buildCommandArray(arguments);
+        System.out.printf("Starting command [%s]%n", join(" ", cmdArray));
+
+        final Process process = new ProcessBuilder(cmdArray).inheritIO().start();
+        ProcessTracker.track(process);
+        return process;
+    }
+
+    /**
+     * Returns the processes started by {@link #start(String...)} which are still running.
+     */
+    public static List<Process> runningProcesses() {
+        return ProcessTracker.running();
+    }
+
     private String[] buildCommandArray(final String[] arguments) {
         return concat(
             of(executable),
@@ -74,4 +104,35 @@ public class ExecutableCommand {
         return file.exists() && file.canExecute();
     }
 
+    /**
+     * Keeps track of the started processes, forgetting them once they are finished.
+     */
+    private static class ProcessTracker {
+        private static final Set<Process> processes = ConcurrentHashMap.newKeySet();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(ProcessTracker::onExit));
+        }
+
+        static void track(final Process process) {
+            reap();
+            processes.add(process);
+        }
+
+        static List<Process> running() {
+            reap();
+            return new ArrayList<>(processes);
+        }
+
+        private static void reap() {
+            processes.removeIf(process -> !process.isAlive());
+        }
+
+        private static void onExit() {
+            reap();
+            if ("true".equals(System.getProperty("APPROVALS_DESTROY_COMMANDS_ON_EXIT"))) {
+                processes.forEach(Process::destroy);
+            }
+        }
+    }
 }
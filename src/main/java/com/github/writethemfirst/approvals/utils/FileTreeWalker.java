@@ -0,0 +1,200 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
+import static com.github.writethemfirst.approvals.utils.PropertyUtils.intProperty;
+import static java.lang.String.format;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * # FileTreeWalker
+ *
+ * Lists the regular files of a folder in a single walk, with the attributes read during that walk (size and last
+ * modification time), so no other file system call is needed to know them.
+ *
+ * Files are listed sorted by their path relative to the folder, which allows to pair the files of 2 folders (like the
+ * *approved* and *received* folders) with a single sorted merge of both listings (see {@link #join(Path, Path, int)}).
+ *
+ * The depth of the walk is unlimited by default, and can be limited with the `APPROVALS_MAX_DEPTH` system property.
+ * Symbolic links are not followed.
+ */
+public class FileTreeWalker {
+    /**
+     * Depth allowing to list all the files of a folder, whatever their depth.
+     */
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+    /**
+     * A regular file found in a folder, with its attributes.
+     */
+    public static class Entry {
+        /**
+         * The path of the file, relative to the listed folder.
+         */
+        public final Path relativePath;
+
+        /**
+         * The path of the file, resolved from the listed folder.
+         */
+        public final Path path;
+
+        public final long size;
+        public final FileTime lastModified;
+
+        Entry(final Path relativePath, final Path path, final long size, final FileTime lastModified) {
+            this.relativePath = relativePath;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * The files found with the same relative path in 2 folders. At least one of both exists.
+     */
+    public static class JoinedEntry {
+        public final Path relativePath;
+        private final Entry left;
+        private final Entry right;
+
+        JoinedEntry(final Path relativePath, final Entry left, final Entry right) {
+            this.relativePath = relativePath;
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Returns the file found in the first folder, or an empty value if it only exists in the second folder.
+         */
+        public Optional<Entry> left() {
+            return Optional.ofNullable(left);
+        }
+
+        /**
+         * Returns the file found in the second folder, or an empty value if it only exists in the first folder.
+         */
+        public Optional<Entry> right() {
+            return Optional.ofNullable(right);
+        }
+    }
+
+    /**
+     * Returns the maximum depth of the walks, set with the `APPROVALS_MAX_DEPTH` system property, and unlimited by
+     * default.
+     *
+     * @return The maximum number of levels of folders to be walked
+     */
+    public static int defaultMaxDepth() {
+        return intProperty("APPROVALS_MAX_DEPTH", UNLIMITED_DEPTH);
+    }
+
+    /**
+     * Lists the regular files of a folder, up to `maxDepth` levels of folders.
+     *
+     * If the provided folder isn't actually a directory, it'll return an empty list instead.
+     *
+     * @param folder   The folder in which the regular files should be searched for
+     * @param maxDepth The maximum number of levels of folders to be walked
+     * @return The files found, sorted by relative path
+     */
+    public static List<Entry> walk(final Path folder, final int maxDepth) {
+        if (!Files.isDirectory(folder)) {
+            return Collections.emptyList();
+        }
+        final List<Entry> entries = new ArrayList<>();
+        try {
+            Files.walkFileTree(folder, EnumSet.noneOf(FileVisitOption.class), maxDepth,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile()) {
+                            entries.add(new Entry(folder.relativize(file), file, attributes.size(),
+                                attributes.lastModifiedTime()));
+                        }
+                        return CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path file, final IOException e) throws IOException {
+                        if (e instanceof NoSuchFileException) {
+                            return CONTINUE;
+                        }
+                        throw e;
+                    }
+                });
+        } catch (final IOException e) {
+            throw new RuntimeException(format("Can't browse directory at <%s> for files.", folder), e);
+        }
+        entries.sort(comparing(entry -> entry.relativePath));
+        return entries;
+    }
+
+    /**
+     * Lists the regular files of 2 folders concurrently, and pairs the files having the same relative path.
+     *
+     * @param left     The first folder
+     * @param right    The second folder
+     * @param maxDepth The maximum number of levels of folders to be walked
+     * @return The files found in either folder, paired and sorted by relative path
+     */
+    public static List<JoinedEntry> join(final Path left, final Path right, final int maxDepth) {
+        final List<List<Entry>> listings = inPool(2, () -> Stream.of(left, right)
+            .parallel()
+            .map(folder -> walk(folder, maxDepth))
+            .collect(toList()));
+        return merge(listings.get(0), listings.get(1));
+    }
+
+    private static List<JoinedEntry> merge(final List<Entry> left, final List<Entry> right) {
+        final List<JoinedEntry> joined = new ArrayList<>(Math.max(left.size(), right.size()));
+        int l = 0;
+        int r = 0;
+        while (l < left.size() || r < right.size()) {
+            final int comparison = l == left.size() ? 1
+                : r == right.size() ? -1
+                : left.get(l).relativePath.compareTo(right.get(r).relativePath);
+            if (comparison < 0) {
+                joined.add(new JoinedEntry(left.get(l).relativePath, left.get(l++), null));
+            } else if (comparison > 0) {
+                joined.add(new JoinedEntry(right.get(r).relativePath, null, right.get(r++)));
+            } else {
+                joined.add(new JoinedEntry(left.get(l).relativePath, left.get(l++), right.get(r++)));
+            }
+        }
+        return joined;
+    }
+}
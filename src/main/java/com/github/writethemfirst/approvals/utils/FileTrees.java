@@ -0,0 +1,276 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * # FileTrees
+ *
+ * Removes or copies whole trees of files.
+ *
+ * With a parallelism of 1, the tree is walked by {@link Files#walkFileTree}. Otherwise, each file and directory is
+ * handled by a fork-join task in a pool of that parallelism (see {@link ParallelUtils}), so large trees are removed or
+ * copied by several threads.
+ *
+ * Failures don't stop the operation: all the other files are still removed or copied, and the failures are returned
+ * together, for the caller to report them at once.
+ */
+class FileTrees {
+
+    /**
+     * Removes the file or directory `root` and, if it is a directory, all the files it contains. Symbolic links are
+     * removed, but never followed.
+     *
+     * @return The failures, empty if everything was removed (or if `root` didn't exist)
+     */
+    static List<Exception> remove(final Path root, final int parallelism) {
+        final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        if (parallelism <= 1) {
+            removeSequentially(root, failures);
+        } else {
+            inPool(parallelism, () -> new RemoveTask(root, failures).invoke());
+        }
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Copies the directory `source` and all the files it contains to `destination`, following symbolic links.
+     *
+     * @param copyFile The copy of a single file, throwing a `RuntimeException` if it fails
+     * @return The failures, empty if everything was copied
+     */
+    static List<Exception> copy(final Path source,
+                                final Path destination,
+                                final int parallelism,
+                                final BiConsumer<Path, Path> copyFile) {
+        final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        if (parallelism <= 1) {
+            copySequentially(source, destination, copyFile, failures);
+        } else {
+            inPool(parallelism, () -> new CopyTask(source, destination, copyFile, failures, new HashSet<>()).invoke());
+        }
+        return new ArrayList<>(failures);
+    }
+
+    private static void removeSequentially(final Path root, final Collection<Exception> failures) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                    delete(file, failures);
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                    failed(e, failures);
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final Path directory, final IOException e) {
+                    failed(e, failures);
+                    delete(directory, failures);
+                    return CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            failed(e, failures);
+        }
+    }
+
+    private static void copySequentially(final Path source,
+                                         final Path destination,
+                                         final BiConsumer<Path, Path> copyFile,
+                                         final Collection<Exception> failures) {
+        try {
+            Files.walkFileTree(source, EnumSet.of(FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) {
+                    try {
+                        Files.createDirectories(destination.resolve(source.relativize(directory)));
+                        return CONTINUE;
+                    } catch (final IOException e) {
+                        failures.add(e);
+                        return SKIP_SUBTREE;
+                    }
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                    copyFile(file, destination.resolve(source.relativize(file)), copyFile, failures);
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                    failures.add(e);
+                    return CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            failures.add(e);
+        }
+    }
+
+    private static void delete(final Path path, final Collection<Exception> failures) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            failures.add(e);
+        }
+    }
+
+    private static void copyFile(final Path file,
+                                 final Path destination,
+                                 final BiConsumer<Path, Path> copyFile,
+                                 final Collection<Exception> failures) {
+        try {
+            copyFile.accept(file, destination);
+        } catch (final RuntimeException e) {
+            failures.add(e);
+        }
+    }
+
+    /**
+     * Files removed concurrently (by another test cleaning the same folder) aren't failures.
+     */
+    private static void failed(final IOException e, final Collection<Exception> failures) {
+        if (e != null && !(e instanceof NoSuchFileException)) {
+            failures.add(e);
+        }
+    }
+
+    private static List<Path> children(final Path directory, final Collection<Exception> failures) {
+        final List<Path> children = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(children::add);
+        } catch (final IOException e) {
+            failed(e, failures);
+        }
+        return children;
+    }
+
+    /**
+     * Removes a file, or the content of a directory (each child in its own task) and then the directory itself.
+     */
+    private static class RemoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Path path;
+        private final Collection<Exception> failures;
+
+        RemoveTask(final Path path, final Collection<Exception> failures) {
+            this.path = path;
+            this.failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            if (Files.isDirectory(path, NOFOLLOW_LINKS)) {
+                final List<RemoveTask> tasks = new ArrayList<>();
+                children(path, failures).forEach(child -> tasks.add(new RemoveTask(child, failures)));
+                invokeAll(tasks);
+            }
+            delete(path, failures);
+        }
+    }
+
+    /**
+     * Copies a file, or creates a directory and copies its content (each child in its own task). The keys of the
+     * directories being copied are kept, so a symbolic link to one of them is reported as a loop.
+     */
+    private static class CopyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Path source;
+        private final Path destination;
+        private final BiConsumer<Path, Path> copyFile;
+        private final Collection<Exception> failures;
+        private final Set<Object> ancestors;
+
+        CopyTask(final Path source,
+                 final Path destination,
+                 final BiConsumer<Path, Path> copyFile,
+                 final Collection<Exception> failures,
+                 final Set<Object> ancestors) {
+            this.source = source;
+            this.destination = destination;
+            this.copyFile = copyFile;
+            this.failures = failures;
+            this.ancestors = ancestors;
+        }
+
+        @Override
+        protected void compute() {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            } catch (final IOException e) {
+                failures.add(e);
+                return;
+            }
+            if (!attributes.isDirectory()) {
+                copyFile(source, destination, copyFile, failures);
+                return;
+            }
+            final Object key = attributes.fileKey();
+            if (key != null && ancestors.contains(key)) {
+                failures.add(new FileSystemLoopException(source.toString()));
+                return;
+            }
+            try {
+                Files.createDirectories(destination);
+            } catch (final IOException e) {
+                failures.add(e);
+                return;
+            }
+            final Set<Object> childAncestors = new HashSet<>(ancestors);
+            if (key != null) {
+                childAncestors.add(key);
+            }
+            final List<CopyTask> tasks = new ArrayList<>();
+            children(source, failures).forEach(child -> tasks.add(new CopyTask(
+                child, destination.resolve(child.getFileName().toString()), copyFile, failures, childAncestors)));
+            invokeAll(tasks);
+        }
+    }
+}
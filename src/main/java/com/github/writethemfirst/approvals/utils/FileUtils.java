@@ -20,13 +20,28 @@ package com.github.writethemfirst.approvals.utils;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 
+import static com.github.writethemfirst.approvals.utils.PropertyUtils.intProperty;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.Files.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * # FileUtils
@@ -35,6 +50,8 @@ import static java.nio.file.Files.*;
  * methods.
  */
 public class FileUtils {
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REPORTED_FAILURES = 10;
 
     /**
      * Reads the file located at the specified Path, and returns its content in case the file exists.
@@ -47,7 +64,7 @@ public class FileUtils {
      */
     public static String silentRead(final Path file) {
         try {
-            return new String(Files.readAllBytes(file));
+            return new String(Files.readAllBytes(file), charset());
         } catch (final IOException e) {
             System.err.println(format("Can't read the file located at <%s>.", file));
             System.err.println(e);
@@ -55,6 +72,77 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Compares the content of the file located at the specified Path with the provided content, without reading the
+     * whole file on the heap (see {@link MappedFileComparator}).
+     *
+     * If the file doesn't exist or if it cannot be mapped, its content is considered to be an empty String and the
+     * {@link IOException} is ignored. An error message will be written in {@link System#err} though.
+     *
+     * @param file    The path of the file to be compared
+     * @param content The content to compare to the content of the file
+     * @return true if the file has the same content (see {@link StringUtils#sameContent(CharSequence, CharSequence)})
+     */
+    public static boolean silentSameContent(final Path file, final CharSequence content) {
+        final Charset charset = charset();
+        if (!isAsciiCompatible(charset)) {
+            return StringUtils.sameContent(silentRead(file), content);
+        }
+        try {
+            return MappedFileComparator.sameContent(file, content, charset);
+        } catch (final IOException e) {
+            System.err.println(format("Can't read the file located at <%s>.", file));
+            System.err.println(e);
+            return StringUtils.sameContent("", content);
+        }
+    }
+
+    /**
+     * Compares the content of 2 files byte by byte, without decoding them (see {@link MappedFileComparator}).
+     *
+     * If one of the files doesn't exist or cannot be read, both files are read as text, the missing one being
+     * considered as an empty String.
+     *
+     * @param expected The first file to be compared
+     * @param actual   The second file to be compared
+     * @return true if both files have the same content (see {@link StringUtils#sameContent(CharSequence,
+     * CharSequence)})
+     */
+    public static boolean silentSameContent(final Path expected, final Path actual) {
+        if (isAsciiCompatible(charset())) {
+            try {
+                return MappedFileComparator.sameContent(expected, actual);
+            } catch (final IOException e) {
+                // falling back to comparing the text, reporting the missing file
+            }
+        }
+        return StringUtils.sameContent(silentRead(expected), silentRead(actual));
+    }
+
+    /**
+     * Returns the charset of the *approval* files, used for all reads and writes. It can be set with the
+     * `APPROVALS_CHARSET` system property, and defaults to UTF-8.
+     *
+     * @return The charset of the *approval* files
+     */
+    public static Charset charset() {
+        final String configured = System.getProperty("APPROVALS_CHARSET");
+        if (configured != null) {
+            try {
+                return Charset.forName(configured.trim());
+            } catch (final IllegalArgumentException e) {
+                System.err.println(format("Invalid APPROVALS_CHARSET <%s>, using UTF-8.", configured));
+            }
+        }
+        return UTF_8;
+    }
+
+    /**
+     * Checks if line endings are encoded as single ASCII bytes, so files can be compared on their bytes.
+     */
+    private static boolean isAsciiCompatible(final Charset charset) {
+        return Arrays.equals("\r\n".getBytes(charset), new byte[]{'\r', '\n'});
+    }
 
     /**
      * Removes the file located at the specified Path if it exists.
@@ -79,12 +167,33 @@ public class FileUtils {
     /**
      * Removes recursively all elements if `path` is a directory, then removes `path`.
      *
-     * If the path doesn't exist, nothing will be done.
+     * If the path doesn't exist, nothing will be done. Symbolic links are removed, but never followed. Files which can't
+     * be removed don't stop the removal of the others, and are all reported at once in `System.err`.
      *
      * @param path the Path to be removed
      */
     public static void silentRecursiveRemove(final Path path) {
-        silentRecursiveRemove(path.toFile());
+        silentRecursiveRemove(path, 1);
+    }
+
+    /**
+     * Removes recursively all elements if `path` is a directory, then removes `path`, using several threads for large
+     * trees.
+     *
+     * It behaves like {@link #silentRecursiveRemove(Path)}, with the files removed concurrently by fork-join tasks.
+     *
+     * @param path        the Path to be removed
+     * @param parallelism the number of files to be removed at the same time
+     */
+    public static void silentRecursiveRemove(final Path path, final int parallelism) {
+        final List<Exception> failures = FileTrees.remove(path, parallelism);
+        if (!failures.isEmpty()) {
+            System.err.println(format("Can't remove %d files or directories located in <%s>.", failures.size(), path));
+            failures.stream().limit(MAX_REPORTED_FAILURES).forEach(System.err::println);
+            if (failures.size() > MAX_REPORTED_FAILURES) {
+                System.err.println(format("... and %d more.", failures.size() - MAX_REPORTED_FAILURES));
+            }
+        }
     }
 
     /**
@@ -95,14 +204,7 @@ public class FileUtils {
      * @param file the File to be removed
      */
     public static void silentRecursiveRemove(final File file) {
-        if (file.isDirectory()) {
-            final File[] children = file.listFiles();
-            if (children != null) {
-                Arrays.stream(children).forEach(FileUtils::silentRecursiveRemove);
-            }
-        }
-        //noinspection ResultOfMethodCallIgnored
-        file.delete();
+        silentRecursiveRemove(file.toPath());
     }
 
     /**
@@ -119,16 +221,82 @@ public class FileUtils {
      * @param file    The file in which the content should be written
      */
     public static void write(final String content, final Path file) {
+        writeAtomically(file, writer -> writer.write(content));
+    }
+
+    /**
+     * Writes the specified `content`, chunk by chunk, in the `file` located at the specified Path.
+     *
+     * It behaves like {@link #write(String, Path)}, without ever holding the whole content in memory.
+     *
+     * @param content The chunks of content to be written in the specified file, in order
+     * @param file    The file in which the content should be written
+     */
+    public static void write(final Stream<? extends CharSequence> content, final Path file) {
+        writeAtomically(file, writer -> content.forEachOrdered(chunk -> {
+            try {
+                writer.append(chunk);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    /**
+     * Writes a file by writing a temporary file next to it first, and then renaming the temporary file, so a concurrent
+     * reader never sees a partially written file, and an interrupted write leaves the previous file untouched.
+     *
+     * The size of the write buffer can be set (in chars) with the `APPROVALS_WRITE_BUFFER_SIZE` system property. If
+     * the `APPROVALS_FSYNC` system property is set to `true`, the content is forced to the storage device before the
+     * temporary file is renamed, so the file survives a system crash too.
+     */
+    private static void writeAtomically(final Path file, final WriterAction action) {
         createParentDirectories(file);
-        try (final BufferedWriter writer = newBufferedWriter(file)) {
-            writer.write(content);
-        } catch (final IOException e) {
+        final Path temporary = temporarySibling(file);
+        try {
+            try (final FileChannel channel = FileChannel.open(temporary, CREATE_NEW, WRITE);
+                 final BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(Channels.newOutputStream(channel), charset()), writeBufferSize())) {
+                action.writeTo(writer);
+                writer.flush();
+                if (isSyncingWrites()) {
+                    channel.force(true);
+                }
+            }
+            moveAtomically(temporary, file);
+        } catch (final IOException | UncheckedIOException e) {
+            silentRemove(temporary);
             final String message = format("Can't write the file located at <%s> because of <%s>.",
                 file.toAbsolutePath(), e.getMessage());
             throw new RuntimeException(message, e);
         }
     }
 
+    private static Path temporarySibling(final Path file) {
+        return file.resolveSibling(format(".%s.%s.tmp", file.getFileName(), UUID.randomUUID()));
+    }
+
+    private static int writeBufferSize() {
+        return intProperty("APPROVALS_WRITE_BUFFER_SIZE", DEFAULT_WRITE_BUFFER_SIZE);
+    }
+
+    private static boolean isSyncingWrites() {
+        return "true".equals(System.getProperty("APPROVALS_FSYNC"));
+    }
+
+    private static void moveAtomically(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterAction {
+        void writeTo(final Writer writer) throws IOException;
+    }
+
     public static void createParentDirectories(final Path file) {
         try {
             createDirectories(file.getParent());
@@ -141,6 +309,10 @@ public class FileUtils {
     /**
      * Copies the content of a file found at a specified Path to another file located at another specified Path.
      *
+     * Files are copied byte for byte by the file system (without decoding them), so binary files are preserved and large
+     * files are copied at disk speed. Each file is copied next to its destination first, and then renamed, like in
+     * {@link #write(String, Path)}.
+     *
      * It'll swallow all errors while reading the sourceFile (using an empty String as data) and only produce exceptions
      * in case of errors while writing the new file.
      *
@@ -148,27 +320,66 @@ public class FileUtils {
      * @param destinationFile The file to which the data to be copied should be written
      */
     public static void copy(final Path sourceFile, final Path destinationFile) {
+        copy(sourceFile, destinationFile, 1);
+    }
+
+    /**
+     * Copies a file, or a directory with all the files it contains, using several threads for large directories.
+     *
+     * It behaves like {@link #copy(Path, Path)}, with the files of a directory copied concurrently by fork-join tasks.
+     *
+     * @param sourceFile      The file or directory to be copied
+     * @param destinationFile The file or directory to be written
+     * @param parallelism     The number of files to be copied at the same time
+     */
+    public static void copy(final Path sourceFile, final Path destinationFile, final int parallelism) {
         if (sourceFile.toFile().isDirectory()) {
-            copyDirectory(sourceFile, destinationFile);
+            copyDirectory(sourceFile, destinationFile, parallelism);
         } else {
             copyFile(sourceFile, destinationFile);
         }
     }
 
-    private static void copyDirectory(final Path sourceDirectory, final Path destinationDirectory) {
-        try {
-            createDirectories(destinationDirectory);
-        } catch (IOException e) {
-            System.err.println(format("Could not create destination directory %s : %s", destinationDirectory, e));
-        }
-        final File[] children = sourceDirectory.toFile().listFiles();
-        if (children != null) {
-            Arrays.stream(children).forEach(child -> copy(child.toPath(), destinationDirectory.resolve(child.getName())));
+    /**
+     * Copies all the files of a directory. Files which can't be copied don't stop the copy of the others, and are all
+     * reported at once by a single `RuntimeException`, holding each failure as a suppressed exception.
+     */
+    private static void copyDirectory(final Path sourceDirectory,
+                                      final Path destinationDirectory,
+                                      final int parallelism) {
+        final List<Exception> failures =
+            FileTrees.copy(sourceDirectory, destinationDirectory, parallelism, FileUtils::copyFile);
+        if (!failures.isEmpty()) {
+            final RuntimeException exception = new RuntimeException(format(
+                "Can't copy %d files or directories from <%s> to <%s>, first failure: <%s>.",
+                failures.size(), sourceDirectory.toAbsolutePath(), destinationDirectory.toAbsolutePath(),
+                failures.get(0).getMessage()));
+            failures.forEach(exception::addSuppressed);
+            throw exception;
         }
     }
 
     private static void copyFile(final Path sourceFile, final Path destinationFile) {
-        write(silentRead(sourceFile), destinationFile);
+        if (!isReadable(sourceFile)) {
+            write(silentRead(sourceFile), destinationFile);
+            return;
+        }
+        createParentDirectories(destinationFile);
+        final Path temporary = temporarySibling(destinationFile);
+        try {
+            Files.copy(sourceFile, temporary);
+            if (isSyncingWrites()) {
+                try (final FileChannel channel = FileChannel.open(temporary, WRITE)) {
+                    channel.force(true);
+                }
+            }
+            moveAtomically(temporary, destinationFile);
+        } catch (final IOException e) {
+            silentRemove(temporary);
+            final String message = format("Can't copy the file located at <%s> to <%s> because of <%s>.",
+                sourceFile.toAbsolutePath(), destinationFile.toAbsolutePath(), e.getMessage());
+            throw new RuntimeException(message, e);
+        }
     }
 
     /**
@@ -188,7 +399,8 @@ public class FileUtils {
     }
 
     /**
-     * Returns a list of all regular files found in a base directory up to a depth of MAX_DEPTH.
+     * Returns all regular files found in a base directory, sorted by path, at any depth (unless a maximum depth is set
+     * with the `APPROVALS_MAX_DEPTH` system property, see {@link FileTreeWalker}).
      *
      * If the provided baseDirectory isn't actually a directory, it'll return an empty stream instead.
      *
@@ -196,14 +408,7 @@ public class FileUtils {
      * @return A stream containing all the regular files found in the provided directory
      */
     public static Stream<Path> listFiles(final Path baseDirectory) {
-        final int MAX_DEPTH = 5;
-        try {
-            return baseDirectory.toFile().isDirectory()
-                ? Files.find(baseDirectory, MAX_DEPTH, ($, attributes) -> attributes.isRegularFile())
-                : Stream.empty();
-        } catch (final IOException e) {
-            throw new RuntimeException(format("Can't browse directory at <%s> for files.", baseDirectory), e);
-        }
+        return FileTreeWalker.walk(baseDirectory, FileTreeWalker.defaultMaxDepth()).stream().map(entry -> entry.path);
     }
 
 }
@@ -19,9 +19,16 @@ package com.github.writethemfirst.approvals.utils;
 
 import com.github.writethemfirst.approvals.utils.functions.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
 
 /**
  * # FunctionUtils
@@ -164,13 +171,7 @@ public class FunctionUtils {
                 for (final IN3 arg3 : args3) {
                     for (final IN4 arg4 : args4) {
                         for (final IN5 arg5 : args5) {
-                            try {
-                                results.append(function.apply(arg1, arg2, arg3, arg4, arg5));
-                            } catch (final Exception e) {
-                                results.append(e);
-                            }
-                            results.append(buildArgumentsString(" <== , ", ", ", "\n",
-                                arg1, arg2, arg3, arg4, arg5));
+                            results.append(applyOnce(function, arg1, arg2, arg3, arg4, arg5));
                         }
                     }
                 }
@@ -179,6 +180,179 @@ public class FunctionUtils {
         return results.toString();
     }
 
+    /**
+     * Lazily applies the provided function to all combinations of all the provided arguments for the function, and
+     * returns the produced results as a Stream of lines.
+     *
+     * The lines are the same as the ones of {@link #applyCombinations(Iterable, Function1)}, in the same order, but each
+     * line is only computed when the Stream is consumed, so all results never have to be held in memory at once.
+     *
+     * @param args1    A collection of all the arguments 1 to apply the function to
+     * @param function The function to apply on the combinations of provided arguments
+     * @param <IN1>    Type of the argument 1
+     * @return A Stream of lines containing all the combinations of provided arguments, and the result produced by the
+     * function application
+     */
+    public static <IN1> Stream<String> streamCombinations(final Iterable<IN1> args1, final Function1<IN1, ?> function) {
+        return streamCombinations(args1, UNSPECIFIED, (arg1, arg2) -> function.apply(arg1));
+    }
+
+    /**
+     * Lazy version of {@link #applyCombinations(Iterable, Iterable, Function2)}, see {@link
+     * #streamCombinations(Iterable, Function1)}.
+     */
+    public static <IN1, IN2> Stream<String> streamCombinations(final Iterable<IN1> args1, final Iterable<IN2> args2,
+                                                               final Function2<IN1, IN2, ?> function) {
+        return streamCombinations(args1, args2, UNSPECIFIED, (arg1, arg2, arg3) -> function.apply(arg1, arg2));
+    }
+
+    /**
+     * Lazy version of {@link #applyCombinations(Iterable, Iterable, Iterable, Function3)}, see {@link
+     * #streamCombinations(Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3> Stream<String> streamCombinations
+    (final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3,
+     final Function3<IN1, IN2, IN3, ?> function) {
+        return streamCombinations(args1, args2, args3, UNSPECIFIED,
+            (arg1, arg2, arg3, arg4) -> function.apply(arg1, arg2, arg3));
+    }
+
+    /**
+     * Lazy version of {@link #applyCombinations(Iterable, Iterable, Iterable, Iterable, Function4)}, see {@link
+     * #streamCombinations(Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3, IN4> Stream<String> streamCombinations
+    (final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3, final Iterable<IN4> args4,
+     final Function4<IN1, IN2, IN3, IN4, ?> function) {
+        return streamCombinations(args1, args2, args3, args4, UNSPECIFIED,
+            (arg1, arg2, arg3, arg4, arg5) -> function.apply(arg1, arg2, arg3, arg4));
+    }
+
+    /**
+     * Lazy version of {@link #applyCombinations(Iterable, Iterable, Iterable, Iterable, Iterable, Function5)}, see
+     * {@link #streamCombinations(Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3, IN4, IN5> Stream<String> streamCombinations
+    (final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3, final Iterable<IN4> args4,
+     final Iterable<IN5> args5, final Function5<IN1, IN2, IN3, IN4, IN5, ?> function) {
+        return stream(args1).flatMap(arg1 ->
+            stream(args2).flatMap(arg2 ->
+                stream(args3).flatMap(arg3 ->
+                    stream(args4).flatMap(arg4 ->
+                        stream(args5).map(arg5 -> applyOnce(function, arg1, arg2, arg3, arg4, arg5))))));
+    }
+
+    /**
+     * Applies the provided function to all combinations of all the provided arguments for the function, evaluating
+     * several combinations concurrently, and returns the produced results as a String.
+     *
+     * The combinations are numbered in the order of {@link #applyCombinations(Iterable, Function1)}, split into ranges
+     * of indexes which are evaluated in parallel, and their results are reassembled in that order. The produced String
+     * is thus exactly the same as the sequential one, as long as the function is thread-safe.
+     *
+     * @param parallelism The number of combinations to be evaluated at the same time
+     * @param args1       A collection of all the arguments 1 to apply the function to
+     * @param function    The function to apply on the combinations of provided arguments, which must be thread-safe
+     * @param <IN1>       Type of the argument 1
+     * @return A String containing all the combinations of provided arguments, and the result produced by the function
+     * application
+     */
+    public static <IN1> String applyCombinationsInParallel(final int parallelism, final Iterable<IN1> args1,
+                                                           final Function1<IN1, ?> function) {
+        return applyCombinationsInParallel(parallelism, args1, UNSPECIFIED, (arg1, arg2) -> function.apply(arg1));
+    }
+
+    /**
+     * Parallel version of {@link #applyCombinations(Iterable, Iterable, Function2)}, see {@link
+     * #applyCombinationsInParallel(int, Iterable, Function1)}.
+     */
+    public static <IN1, IN2> String applyCombinationsInParallel(final int parallelism, final Iterable<IN1> args1,
+                                                                final Iterable<IN2> args2,
+                                                                final Function2<IN1, IN2, ?> function) {
+        return applyCombinationsInParallel(parallelism, args1, args2, UNSPECIFIED,
+            (arg1, arg2, arg3) -> function.apply(arg1, arg2));
+    }
+
+    /**
+     * Parallel version of {@link #applyCombinations(Iterable, Iterable, Iterable, Function3)}, see {@link
+     * #applyCombinationsInParallel(int, Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3> String applyCombinationsInParallel
+    (final int parallelism, final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3,
+     final Function3<IN1, IN2, IN3, ?> function) {
+        return applyCombinationsInParallel(parallelism, args1, args2, args3, UNSPECIFIED,
+            (arg1, arg2, arg3, arg4) -> function.apply(arg1, arg2, arg3));
+    }
+
+    /**
+     * Parallel version of {@link #applyCombinations(Iterable, Iterable, Iterable, Iterable, Function4)}, see {@link
+     * #applyCombinationsInParallel(int, Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3, IN4> String applyCombinationsInParallel
+    (final int parallelism, final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3,
+     final Iterable<IN4> args4, final Function4<IN1, IN2, IN3, IN4, ?> function) {
+        return applyCombinationsInParallel(parallelism, args1, args2, args3, args4, UNSPECIFIED,
+            (arg1, arg2, arg3, arg4, arg5) -> function.apply(arg1, arg2, arg3, arg4));
+    }
+
+    /**
+     * Parallel version of {@link #applyCombinations(Iterable, Iterable, Iterable, Iterable, Iterable, Function5)}, see
+     * {@link #applyCombinationsInParallel(int, Iterable, Function1)}.
+     */
+    public static <IN1, IN2, IN3, IN4, IN5> String applyCombinationsInParallel
+    (final int parallelism, final Iterable<IN1> args1, final Iterable<IN2> args2, final Iterable<IN3> args3,
+     final Iterable<IN4> args4, final Iterable<IN5> args5, final Function5<IN1, IN2, IN3, IN4, IN5, ?> function) {
+        final List<IN1> list1 = toList(args1);
+        final List<IN2> list2 = toList(args2);
+        final List<IN3> list3 = toList(args3);
+        final List<IN4> list4 = toList(args4);
+        final List<IN5> list5 = toList(args5);
+        final long count = (long) list1.size() * list2.size() * list3.size() * list4.size() * list5.size();
+
+        return inPool(parallelism, () -> LongStream.range(0, count)
+            .parallel()
+            .mapToObj(index -> {
+                long remaining = index;
+                final IN5 arg5 = list5.get((int) (remaining % list5.size()));
+                remaining /= list5.size();
+                final IN4 arg4 = list4.get((int) (remaining % list4.size()));
+                remaining /= list4.size();
+                final IN3 arg3 = list3.get((int) (remaining % list3.size()));
+                remaining /= list3.size();
+                final IN2 arg2 = list2.get((int) (remaining % list2.size()));
+                remaining /= list2.size();
+                final IN1 arg1 = list1.get((int) remaining);
+                return applyOnce(function, arg1, arg2, arg3, arg4, arg5);
+            })
+            .collect(Collectors.joining()));
+    }
+
+    /**
+     * Applies the function to a single combination of arguments, and returns the line describing its result (or the
+     * exception it threw) and its arguments.
+     */
+    private static <IN1, IN2, IN3, IN4, IN5> String applyOnce(final Function5<IN1, IN2, IN3, IN4, IN5, ?> function,
+                                                              final IN1 arg1, final IN2 arg2, final IN3 arg3,
+                                                              final IN4 arg4, final IN5 arg5) {
+        Object result;
+        try {
+            result = function.apply(arg1, arg2, arg3, arg4, arg5);
+        } catch (final Exception e) {
+            result = e;
+        }
+        return result + buildArgumentsString(" <== , ", ", ", "\n", arg1, arg2, arg3, arg4, arg5);
+    }
+
+    private static <T> Stream<T> stream(final Iterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
+
+    private static <T> List<T> toList(final Iterable<T> iterable) {
+        final List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+
     /**
      * Builds a String representation out of the provided arguments using the provided prefix, delimiter, and suffix;
      * after filtering the valid arguments (not the UNSPECIFIED_ENTRY ones).
@@ -0,0 +1,230 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * # MappedFileComparator
+ *
+ * Compares the content of a file with some text without ever loading the whole file on the heap.
+ *
+ * Large files are memory-mapped region by region (small ones are simply read), and the text is encoded chunk by chunk
+ * in a small buffer, so comparing a huge *approved* file only costs a bounded amount of memory, and the file is never
+ * decoded. The comparison follows the same rules as {@link
+ * StringUtils#sameContent(CharSequence, CharSequence)}: `\r\n` and `\n` are considered as the same line ending and
+ * trailing line endings are ignored.
+ *
+ * Line endings are detected on the encoded bytes, so the charset must encode `\r` and `\n` as single ASCII bytes (which
+ * is the case of UTF-8, ISO-8859-* and most platform charsets).
+ */
+public class MappedFileComparator {
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
+    private static final int ENCODING_BUFFER_SIZE = 8 * 1024;
+    private static final int END = -1;
+
+    /**
+     * Compares the content of the file located at the specified Path with the provided text, encoded with the provided
+     * charset.
+     *
+     * @param file    The file to be compared, which is memory-mapped instead of being read
+     * @param content The text to compare to the content of the file
+     * @param charset The charset used to encode the text, it should be the one of the file
+     * @return true if the file has the same lines as the text
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public static boolean sameContent(final Path file, final CharSequence content, final Charset charset) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteSource fileBytes = fileSource(channel);
+            final ByteSource contentBytes = new EncodedByteSource(content, charset);
+            return sameContent(new NormalizedByteSource(fileBytes), new NormalizedByteSource(contentBytes))
+                && (channel.size() == 0) == (content.length() == 0);
+        }
+    }
+
+    /**
+     * Compares the content of 2 files, byte by byte, without decoding them. Both files must use the same charset.
+     *
+     * @param expected The first file to be compared
+     * @param actual   The second file to be compared
+     * @return true if both files have the same lines
+     * @throws IOException if one of the files can't be opened or read
+     */
+    public static boolean sameContent(final Path expected, final Path actual) throws IOException {
+        try (final FileChannel expectedChannel = FileChannel.open(expected, READ);
+             final FileChannel actualChannel = FileChannel.open(actual, READ)) {
+            return sameContent(
+                new NormalizedByteSource(fileSource(expectedChannel)),
+                new NormalizedByteSource(fileSource(actualChannel)))
+                && (expectedChannel.size() == 0) == (actualChannel.size() == 0);
+        }
+    }
+
+    /**
+     * Small files are simply read on the heap, which is cheaper than mapping them. Larger files are mapped.
+     */
+    private static ByteSource fileSource(final FileChannel channel) throws IOException {
+        if (channel.size() > MAPPING_THRESHOLD) {
+            return new MappedByteSource(channel);
+        }
+        final ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        while (content.hasRemaining() && channel.read(content) >= 0) {
+            // reading until the buffer is full or the end of the file is reached
+        }
+        content.flip();
+        return () -> content.hasRemaining() ? content.get() & 0xFF : END;
+    }
+
+    /**
+     * Walks both sources until the first difference. Sources are considered the same if nothing but line endings
+     * remain after that difference.
+     */
+    static boolean sameContent(final ByteSource expected, final ByteSource actual) throws IOException {
+        int e = expected.next();
+        int a = actual.next();
+        while (e == a && e != END) {
+            e = expected.next();
+            a = actual.next();
+        }
+        return onlyLineEndingsLeft(expected, e) && onlyLineEndingsLeft(actual, a);
+    }
+
+    private static boolean onlyLineEndingsLeft(final ByteSource source, final int current) throws IOException {
+        int b = current;
+        while (b == '\n') {
+            b = source.next();
+        }
+        return b == END;
+    }
+
+    /**
+     * A sequence of bytes read one by one, {@link #next()} returning `-1` when there are no more bytes.
+     */
+    interface ByteSource {
+        int next() throws IOException;
+    }
+
+    /**
+     * Replaces `\r\n` by `\n` in the underlying source.
+     */
+    static class NormalizedByteSource implements ByteSource {
+        private final ByteSource source;
+        private int lookAhead = END;
+        private boolean hasLookAhead = false;
+
+        NormalizedByteSource(final ByteSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public int next() throws IOException {
+            final int b = read();
+            if (b == '\r') {
+                final int following = read();
+                if (following == '\n') {
+                    return '\n';
+                }
+                lookAhead = following;
+                hasLookAhead = true;
+            }
+            return b;
+        }
+
+        private int read() throws IOException {
+            if (hasLookAhead) {
+                hasLookAhead = false;
+                return lookAhead;
+            }
+            return source.next();
+        }
+    }
+
+    /**
+     * Reads the bytes of a file by mapping it in memory, one region after the other.
+     */
+    private static class MappedByteSource implements ByteSource {
+        private final FileChannel channel;
+        private final long size;
+        private long position = 0;
+        private ByteBuffer region = ByteBuffer.allocate(0);
+
+        MappedByteSource(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public int next() throws IOException {
+            if (!region.hasRemaining()) {
+                if (position >= size) {
+                    return END;
+                }
+                final long regionSize = Math.min(MAPPED_REGION_SIZE, size - position);
+                region = channel.map(READ_ONLY, position, regionSize);
+                position += regionSize;
+            }
+            return region.get() & 0xFF;
+        }
+    }
+
+    /**
+     * Encodes a text in a small buffer, chunk by chunk, as its bytes are consumed.
+     */
+    static class EncodedByteSource implements ByteSource {
+        private final CharBuffer chars;
+        private final CharsetEncoder encoder;
+        private final ByteBuffer bytes;
+        private boolean flushed = false;
+
+        EncodedByteSource(final CharSequence content, final Charset charset) {
+            this.chars = CharBuffer.wrap(content);
+            this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.bytes = ByteBuffer.allocate(ENCODING_BUFFER_SIZE);
+            this.bytes.flip();
+        }
+
+        @Override
+        public int next() {
+            while (!bytes.hasRemaining()) {
+                if (flushed) {
+                    return END;
+                }
+                bytes.clear();
+                encoder.encode(chars, bytes, true);
+                if (!chars.hasRemaining() && encoder.flush(bytes).isUnderflow()) {
+                    flushed = true;
+                }
+                bytes.flip();
+            }
+            return bytes.get() & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static com.github.writethemfirst.approvals.utils.PropertyUtils.intProperty;
+
+/**
+ * # ParallelUtils
+ *
+ * Set of methods to run some work of the framework (comparing, copying or listing many files...) on several threads.
+ *
+ * The work is run in a {@link ForkJoinPool} dedicated to the framework, so parallel streams started from that work use
+ * the requested parallelism and don't compete with the common pool of the tests.
+ */
+public class ParallelUtils {
+    private static final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the parallelism to be used by default, which can be set with the `APPROVALS_PARALLELISM` system property
+     * and defaults to the number of available processors.
+     *
+     * @return The default number of threads to be used for parallel work
+     */
+    public static int defaultParallelism() {
+        return intProperty("APPROVALS_PARALLELISM", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs some work in a pool of the requested parallelism, and waits for its result.
+     *
+     * If the parallelism is 1, the work is simply run in the current thread.
+     *
+     * @param parallelism The number of threads to be used by the work
+     * @param work        The work to be run, usually relying on a parallel stream
+     * @param <T>         The type of the result of the work
+     * @return The result of the work
+     */
+    public static <T> T inPool(final int parallelism, final Supplier<T> work) {
+        if (parallelism <= 1) {
+            return work.get();
+        }
+        final ForkJoinPool pool = pools.computeIfAbsent(parallelism, ForkJoinPool::new);
+        try {
+            return pool.submit(work::get).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * # PathLocks
+ *
+ * Locks allowing tests run in parallel to read and write the same *approval* files safely, whether they run in the
+ * same JVM (parallel JUnit execution) or in several forked JVMs.
+ *
+ * Paths are spread over a fixed number of stripes. Each stripe is protected by an in-process {@link ReentrantLock},
+ * and by a {@link FileLock} on a lock file shared by all the JVMs, whatever their working directory. The lock files
+ * are kept out of the project, so they never show up next to the *approved* files, and there are never more than one
+ * per stripe.
+ *
+ * They are created in the `approvals-java-locks` folder of the temporary directory, or in the folder set by the
+ * `APPROVALS_LOCK_FOLDER` system property (which all the JVMs of the build need to share).
+ */
+public class PathLocks {
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private static final FileLock[] fileLocks = new FileLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs some work while holding the lock of the provided path.
+     *
+     * The lock is reentrant, but locking several paths at the same time should be avoided, since they are not locked
+     * in a consistent order.
+     *
+     * @param path The path to be locked (usually an *approved* file or folder)
+     * @param work The work to be run while holding the lock
+     * @param <T>  The type of the result of the work
+     * @return The result of the work
+     */
+    public static <T> T withLock(final Path path, final Supplier<T> work) {
+        final int stripe = stripe(path);
+        final ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            if (lock.getHoldCount() == 1) {
+                fileLocks[stripe] = lockFile(stripe);
+            }
+            try {
+                return work.get();
+            } finally {
+                if (lock.getHoldCount() == 1) {
+                    release(fileLocks[stripe]);
+                    fileLocks[stripe] = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs some work while holding the lock of the provided path (see {@link #withLock(Path, Supplier)}).
+     *
+     * @param path The path to be locked (usually an *approved* file or folder)
+     * @param work The work to be run while holding the lock
+     */
+    public static void withLock(final Path path, final Runnable work) {
+        withLock(path, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the folder of the lock files, as an absolute path.
+     */
+    static Path lockFolder() {
+        final String configured = System.getProperty("APPROVALS_LOCK_FOLDER");
+        final Path folder = configured == null
+            ? Paths.get(System.getProperty("java.io.tmpdir"), "approvals-java-locks")
+            : Paths.get(configured);
+        return folder.toAbsolutePath().normalize();
+    }
+
+    private static int stripe(final Path path) {
+        return Math.floorMod(path.toAbsolutePath().normalize().hashCode(), STRIPES);
+    }
+
+    /**
+     * Locks the file of the stripe for the other JVMs. If the lock file can't be used, only the in-process lock is
+     * held.
+     */
+    private static FileLock lockFile(final int stripe) {
+        final Path lockFolder = lockFolder();
+        final Path lockFile = lockFolder.resolve(format("stripe-%d.lock", stripe));
+        try {
+            Files.createDirectories(lockFolder);
+            final FileChannel channel = FileChannel.open(lockFile, CREATE, WRITE);
+            try {
+                return channel.lock();
+            } catch (final IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (final IOException e) {
+            System.err.println(format("Can't lock the file located at <%s>.", lockFile));
+            System.err.println(e);
+            return null;
+        }
+    }
+
+    private static void release(final FileLock fileLock) {
+        if (fileLock != null) {
+            try {
+                fileLock.channel().close();
+            } catch (final IOException e) {
+                System.err.println(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import static java.lang.String.format;
+
+/**
+ * # PropertyUtils
+ *
+ * Set of methods to read the system properties used to tune the framework (like `APPROVALS_PARALLELISM`).
+ */
+public class PropertyUtils {
+
+    /**
+     * Returns the value of a system property holding a positive integer.
+     *
+     * A value lower than 1 is raised to 1. A value which isn't an integer is reported in System.err and replaced by the
+     * default value.
+     *
+     * @param name         The name of the system property
+     * @param defaultValue The value to be used if the property isn't set or isn't an integer
+     * @return The positive value of the property, or the default value
+     */
+    public static int intProperty(final String name, final int defaultValue) {
+        final String configured = System.getProperty(name);
+        if (configured != null) {
+            try {
+                return Math.max(1, Integer.parseInt(configured.trim()));
+            } catch (final NumberFormatException e) {
+                System.err.println(
+                    format("Invalid %s <%s>, using the default value <%d>.", name, configured, defaultValue));
+            }
+        }
+        return defaultValue;
+    }
+}
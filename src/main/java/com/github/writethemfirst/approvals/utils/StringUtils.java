@@ -21,14 +21,71 @@ import java.util.Arrays;
 import java.util.List;
 
 import static java.lang.String.format;
-import static java.util.stream.IntStream.range;
 
 public class StringUtils {
-    public static boolean sameContent(String expected, String actual) {
-        final List<String> expectedElements = splitOnLineEndings(expected);
-        final List<String> actualElements = splitOnLineEndings(actual);
-        return expectedElements.size() == actualElements.size() &&
-            range(0, expectedElements.size()).allMatch(i -> expectedElements.get(i).equals(actualElements.get(i)));
+    /**
+     * Compares 2 texts, considering `\r\n` and `\n` as the same line ending, and ignoring trailing line endings.
+     *
+     * Both texts are walked only once, without splitting them into lines or copying them, and the comparison stops at
+     * the first difference found. It gives the same result as comparing the lists returned by {@link
+     * #splitOnLineEndings(String)}.
+     *
+     * @param expected The reference text (usually the content of an *approved* file)
+     * @param actual   The text to compare to the reference text
+     * @return true if both texts have the same lines
+     */
+    public static boolean sameContent(final CharSequence expected, final CharSequence actual) {
+        final int expectedEnd = endIgnoringTrailingLineEndings(expected);
+        final int actualEnd = endIgnoringTrailingLineEndings(actual);
+        if (expectedEnd == 0 || actualEnd == 0) {
+            return expectedEnd == actualEnd && (expected.length() == 0) == (actual.length() == 0);
+        }
+        int i = 0;
+        int j = 0;
+        while (i < expectedEnd && j < actualEnd) {
+            final char e = expected.charAt(i);
+            final char a = actual.charAt(j);
+            if (isCrLf(expected, i, expectedEnd)) {
+                if (isCrLf(actual, j, actualEnd)) {
+                    j += 2;
+                } else if (a == '\n') {
+                    j++;
+                } else {
+                    return false;
+                }
+                i += 2;
+            } else if (isCrLf(actual, j, actualEnd)) {
+                if (e != '\n') {
+                    return false;
+                }
+                i++;
+                j += 2;
+            } else if (e == a) {
+                i++;
+                j++;
+            } else {
+                return false;
+            }
+        }
+        return i == expectedEnd && j == actualEnd;
+    }
+
+    private static boolean isCrLf(final CharSequence s, final int index, final int end) {
+        return s.charAt(index) == '\r' && index + 1 < end && s.charAt(index + 1) == '\n';
+    }
+
+    /**
+     * Finds the end of the text once all trailing line endings (`\r\n` or `\n`) are removed.
+     */
+    private static int endIgnoringTrailingLineEndings(final CharSequence s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) == '\n') {
+            end--;
+            if (end > 0 && s.charAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+        return end;
     }
 
     public static List<String> splitOnLineEndings(final String s) {
@@ -51,6 +108,47 @@ public class StringUtils {
         }
     }
 
+    /**
+     * Describes the differences between 2 texts, in a message whose size is bounded whatever the size of the texts.
+     *
+     * The message starts with a description of the first different line, followed by a unified diff of both texts (see
+     * {@link UnifiedDiff}).
+     *
+     * @param expected     The reference text (usually the content of an *approved* file)
+     * @param actual       The text compared to the reference text (usually the content of a *received* file)
+     * @param contextLines The number of unchanged lines to be displayed around each change in the diff
+     * @param maxLength    The maximum number of characters of the unified diff
+     * @return A description of the differences between both texts
+     */
+    public static String describeDifferences(final String expected, final String actual,
+                                             final int contextLines, final int maxLength) {
+        final List<String> expectedList = splitOnLineEndings(expected);
+        final List<String> actualList = splitOnLineEndings(actual);
+        final int lineIndex = firstDifferentLineOrSize(expectedList, actualList);
+        final String firstDifference = describeDifferentLines(
+            lineIndex < expectedList.size() ? expectedList.get(lineIndex) : "",
+            lineIndex < actualList.size() ? actualList.get(lineIndex) : "",
+            lineIndex);
+        final String diff = UnifiedDiff.between(expectedList, actualList).render(contextLines, maxLength);
+        return format("%s%n%s", truncate(firstDifference, maxLength), diff);
+    }
+
+    private static int firstDifferentLineOrSize(final List<String> expectedList, final List<String> actualList) {
+        final int minSize = Math.min(expectedList.size(), actualList.size());
+        for (int i = 0; i < minSize; i++) {
+            if (!expectedList.get(i).equals(actualList.get(i))) {
+                return i;
+            }
+        }
+        return minSize;
+    }
+
+    private static String truncate(final String s, final int maxLength) {
+        return s.length() > maxLength
+            ? s.substring(0, maxLength) + format("... (%d more characters)", s.length() - maxLength)
+            : s;
+    }
+
     private static String describeDifferentLines(final String expected, final String actual, final Integer lineIndex) {
         final String prefix = greatestCommonPrefix(expected, actual);
         final String suffix = greatestCommonSuffix(expected.substring(prefix.length()), actual.substring(prefix.length()));
@@ -0,0 +1,233 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * # UnifiedDiff
+ *
+ * Computes the differences between 2 lists of lines, and formats them as a unified diff (like `diff -u` would).
+ *
+ * The differences are found using the linear space variant of the Myers algorithm ("An O(ND) Difference Algorithm and
+ * Its Variations", Eugene W. Myers, 1986), so the cost mostly depends on the number of differences rather than on the
+ * size of the texts.
+ */
+public class UnifiedDiff {
+    private final List<String> expected;
+    private final List<String> actual;
+    private final boolean[] deleted;
+    private final boolean[] inserted;
+
+    private UnifiedDiff(final List<String> expected, final List<String> actual) {
+        this.expected = expected;
+        this.actual = actual;
+        this.deleted = new boolean[expected.size()];
+        this.inserted = new boolean[actual.size()];
+    }
+
+    /**
+     * Computes the differences between the expected and the actual lines.
+     *
+     * @param expected The reference lines (usually from an *approved* file)
+     * @param actual   The lines to compare to the reference (usually from a *received* file)
+     * @return the differences, ready to be formatted
+     */
+    public static UnifiedDiff between(final List<String> expected, final List<String> actual) {
+        final UnifiedDiff diff = new UnifiedDiff(expected, actual);
+        final Map<String, Integer> ids = new HashMap<>();
+        final int[] a = expected.stream().mapToInt(line -> ids.computeIfAbsent(line, $ -> ids.size())).toArray();
+        final int[] b = actual.stream().mapToInt(line -> ids.computeIfAbsent(line, $ -> ids.size())).toArray();
+        diff.compare(a, 0, a.length, b, 0, b.length);
+        return diff;
+    }
+
+    /**
+     * Formats the differences as a unified diff, starting with `--- approved` and `+++ received` headers.
+     *
+     * @param contextLines The number of unchanged lines to be displayed around each change
+     * @param maxLength    The maximum number of characters of the formatted diff. It is truncated beyond that limit
+     * @return The unified diff, or an empty String if there are no differences
+     */
+    public String render(final int contextLines, final int maxLength) {
+        final StringBuilder output = new StringBuilder("--- approved\n+++ received\n");
+        final int expectedSize = expected.size();
+        final int actualSize = actual.size();
+        boolean changed = false;
+        int i = 0;
+        int j = 0;
+        while (i < expectedSize || j < actualSize) {
+            if (!isChanged(i, j)) {
+                i++;
+                j++;
+                continue;
+            }
+            changed = true;
+            final int hunkExpectedStart = Math.max(0, i - contextLines);
+            final int hunkActualStart = Math.max(0, j - contextLines);
+            int hunkExpectedEnd = i;
+            int hunkActualEnd = j;
+            int unchanged = 0;
+            while ((hunkExpectedEnd < expectedSize || hunkActualEnd < actualSize) && unchanged <= 2 * contextLines) {
+                if (isChanged(hunkExpectedEnd, hunkActualEnd)) {
+                    unchanged = 0;
+                    if (hunkExpectedEnd < expectedSize && deleted[hunkExpectedEnd]) {
+                        hunkExpectedEnd++;
+                    } else {
+                        hunkActualEnd++;
+                    }
+                } else {
+                    unchanged++;
+                    hunkExpectedEnd++;
+                    hunkActualEnd++;
+                }
+            }
+            final int trailing = Math.max(0, unchanged - contextLines);
+            hunkExpectedEnd -= trailing;
+            hunkActualEnd -= trailing;
+            appendHunk(output, hunkExpectedStart, hunkExpectedEnd, hunkActualStart, hunkActualEnd);
+            if (output.length() > maxLength) {
+                return truncate(output, maxLength);
+            }
+            i = hunkExpectedEnd;
+            j = hunkActualEnd;
+        }
+        return changed ? output.toString() : "";
+    }
+
+    private boolean isChanged(final int i, final int j) {
+        return (i < expected.size() && deleted[i]) || (j < actual.size() && inserted[j])
+            || i >= expected.size() || j >= actual.size();
+    }
+
+    private void appendHunk(final StringBuilder output,
+                            final int expectedStart, final int expectedEnd,
+                            final int actualStart, final int actualEnd) {
+        output.append(format("@@ -%s +%s @@\n",
+            range(expectedStart, expectedEnd - expectedStart), range(actualStart, actualEnd - actualStart)));
+        int i = expectedStart;
+        int j = actualStart;
+        while (i < expectedEnd || j < actualEnd) {
+            if (i < expectedEnd && deleted[i]) {
+                output.append('-').append(expected.get(i++)).append('\n');
+            } else if (j < actualEnd && inserted[j]) {
+                output.append('+').append(actual.get(j++)).append('\n');
+            } else {
+                output.append(' ').append(expected.get(i++)).append('\n');
+                j++;
+            }
+        }
+    }
+
+    private static String range(final int start, final int length) {
+        return length == 0 ? format("%d,0", start) : format("%d,%d", start + 1, length);
+    }
+
+    private static String truncate(final StringBuilder output, final int maxLength) {
+        final int removed = output.length() - maxLength;
+        output.setLength(maxLength);
+        return output.append(format("%n... (diff truncated, %d more characters)", removed)).toString();
+    }
+
+    /**
+     * Marks the deleted and inserted lines needed to go from `a[aStart, aEnd)` to `b[bStart, bEnd)`, by splitting the
+     * problem around its middle snake.
+     */
+    private void compare(final int[] a, int aStart, int aEnd, final int[] b, int bStart, int bEnd) {
+        while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+            aStart++;
+            bStart++;
+        }
+        while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+            aEnd--;
+            bEnd--;
+        }
+        if (aStart == aEnd) {
+            for (int j = bStart; j < bEnd; j++) {
+                inserted[j] = true;
+            }
+        } else if (bStart == bEnd) {
+            for (int i = aStart; i < aEnd; i++) {
+                deleted[i] = true;
+            }
+        } else {
+            final int[] snake = middleSnake(a, aStart, aEnd, b, bStart, bEnd);
+            compare(a, aStart, snake[0], b, bStart, snake[1]);
+            compare(a, snake[2], aEnd, b, snake[3], bEnd);
+        }
+    }
+
+    /**
+     * Finds the middle snake of an optimal edit path, exploring it both forward from the start and backward from the
+     * end until both explorations overlap.
+     *
+     * @return the start and end of the snake, as `{aStart, bStart, aEnd, bEnd}`
+     */
+    private static int[] middleSnake(final int[] a, final int aStart, final int aEnd,
+                                     final int[] b, final int bStart, final int bEnd) {
+        final int n = aEnd - aStart;
+        final int m = bEnd - bStart;
+        final int delta = n - m;
+        final boolean odd = (delta & 1) != 0;
+        final int max = (n + m + 1) / 2;
+        final int offset = max + 1;
+        final int[] forward = new int[2 * offset + 1];
+        final int[] backward = new int[2 * offset + 1];
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])
+                    ? forward[offset + k + 1]
+                    : forward[offset + k - 1] + 1;
+                int y = x - k;
+                final int x0 = x;
+                final int y0 = y;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+                final int backwardK = delta - k;
+                if (odd && backwardK >= -(d - 1) && backwardK <= d - 1 && x + backward[offset + backwardK] >= n) {
+                    return new int[]{aStart + x0, bStart + y0, aStart + x, bStart + y};
+                }
+            }
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])
+                    ? backward[offset + k + 1]
+                    : backward[offset + k - 1] + 1;
+                int y = x - k;
+                final int x0 = x;
+                final int y0 = y;
+                while (x < n && y < m && a[aEnd - 1 - x] == b[bEnd - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[offset + k] = x;
+                final int forwardK = delta - k;
+                if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+                    return new int[]{aEnd - x, bEnd - y, aEnd - x0, bEnd - y0};
+                }
+            }
+        }
+        throw new IllegalStateException("No middle snake found, which should never happen");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils.stack;
+
+import java.util.Optional;
+
+/**
+ * # CurrentTest
+ *
+ * The test class and test method currently run by the current thread, when they are published by the test framework
+ * (see `ApprovalsExtension` for JUnit 5).
+ *
+ * When a current test is known, the *Approval Files* are named after it, instead of searching the test class and
+ * method in the current thread stacktrace (see {@link StackUtils}).
+ */
+public class CurrentTest {
+    private static final ThreadLocal<CurrentTest> current = new ThreadLocal<>();
+
+    /**
+     * The name of the test class.
+     */
+    public final String className;
+
+    /**
+     * The name of the test method, which can be suffixed to distinguish several invocations of the same method.
+     */
+    public final String methodName;
+
+    private CurrentTest(final String className, final String methodName) {
+        this.className = className;
+        this.methodName = methodName;
+    }
+
+    /**
+     * Publishes the test about to be run by the current thread.
+     *
+     * @param className  The name of the test class
+     * @param methodName The name to be used for the test method
+     */
+    public static void start(final String className, final String methodName) {
+        current.set(new CurrentTest(className, methodName));
+    }
+
+    /**
+     * Forgets the test run by the current thread, once it is finished.
+     */
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * Returns the test run by the current thread, if it was published.
+     *
+     * @return An `Optional` containing the current test, or an empty value if it is unknown
+     */
+    public static Optional<CurrentTest> current() {
+        return Optional.ofNullable(current.get());
+    }
+}
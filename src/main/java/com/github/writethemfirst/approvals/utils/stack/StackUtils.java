@@ -31,6 +31,8 @@ import java.util.ServiceLoader;
  * used by the *Approval Files*.
  */
 public class StackUtils {
+    private static volatile FindCaller findCaller;
+
     /**
      * Returns the caller class of the first potential reference class found by searching the current thread
      * stacktrace.
@@ -47,7 +49,31 @@ public class StackUtils {
         return getFindCaller().callerClass(potentialReferenceClasses);
     }
 
-    private static FindCaller getFindCaller() {
+    /**
+     * Forces the {@link FindCaller} to be used by all the next calls, instead of the one declared using SPI.
+     *
+     * It allows for example a test framework extension to provide its own implementation.
+     *
+     * @param findCaller The implementation to be used, or `null` to go back to the one declared using SPI
+     */
+    public static void useFindCaller(final FindCaller findCaller) {
+        StackUtils.findCaller = findCaller;
+    }
+
+    /**
+     * Returns the {@link FindCaller} in use. The one declared using SPI is only loaded on the first call, and then
+     * reused, so the classpath isn't scanned for every *Approval Test*.
+     */
+    static FindCaller getFindCaller() {
+        FindCaller current = findCaller;
+        if (current == null) {
+            current = loadFindCaller();
+            findCaller = current;
+        }
+        return current;
+    }
+
+    static FindCaller loadFindCaller() {
         final ServiceLoader<FindCaller> load = ServiceLoader.load(FindCaller.class);
         final Iterator<FindCaller> iterator = load.iterator();
         return iterator.next();
@@ -0,0 +1,30 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils.stack;
+
+/**
+ * # StackWalkerFindCaller
+ *
+ * Default implementation registered in `META-INF/services`, enough for Java frameworks such as JUnit.
+ *
+ * The library jar is a multi-release jar: on Java 9 and above, this class is replaced by a version walking the stack
+ * with `StackWalker`, which stops as soon as possible and never builds `StackTraceElement`s. On Java 8 (or when the
+ * classes aren't loaded from the jar), it behaves exactly like {@link JavaDefaultFindCaller}.
+ */
+public class StackWalkerFindCaller extends JavaDefaultFindCaller {
+}
@@ -0,0 +1,232 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * # ApprovalEvents
+ *
+ * Java 11+ version, packaged in the multi-release part of the library jar, recording the main operations of *Approval
+ * Tests* as Java Flight Recorder events, in the *Approvals* category.
+ *
+ * Events only cost a check when no recording is running: their attributes (like the size of the files, which needs
+ * to be read from the file system) are only computed for the events actually committed.
+ */
+public class ApprovalEvents {
+
+    /**
+     * Runs the verification of an output against the *approved* file or folder, as a `Verify` event holding the path
+     * and size of the *approved* file or folder.
+     */
+    public static void verify(final Path approved, final Runnable verification) {
+        final VerifyEvent event = new VerifyEvent();
+        event.begin();
+        try {
+            verification.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = approved.toString();
+                event.size = size(approved);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the search of the test method of the test class in the current thread stacktrace, as a `CallerLookup` event
+     * holding the name of the test class.
+     */
+    public static <T> T callerLookup(final String testClass, final Supplier<T> lookup) {
+        final CallerLookupEvent event = new CallerLookupEvent();
+        event.begin();
+        try {
+            return lookup.get();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.testClass = testClass;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the comparison of a file with an output or another file, returning true if they match, as a `Compare` event
+     * holding the path and size of the compared file and the result of the comparison.
+     */
+    public static boolean compare(final Path compared, final BooleanSupplier comparison) {
+        final CompareEvent event = new CompareEvent();
+        event.begin();
+        boolean matches = false;
+        try {
+            matches = comparison.getAsBoolean();
+            return matches;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = compared.toString();
+                event.size = size(compared);
+                event.matches = matches;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the staging of files in a folder (*received* folder or copy of mismatching files), returning what the
+     * staging produced, as a `StageFolder` event holding the path of the folder and the total size of its files.
+     */
+    public static <T> T stageFolder(final Path folder, final Supplier<T> staging) {
+        final StageFolderEvent event = new StageFolderEvent();
+        event.begin();
+        try {
+            return staging.get();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = folder.toString();
+                event.size = size(folder);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the staging of files in a folder, when the staging produces nothing, as a `StageFolder` event (see {@link
+     * #stageFolder(Path, Supplier)}).
+     */
+    public static void stageFolder(final Path folder, final Runnable staging) {
+        stageFolder(folder, () -> {
+            staging.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the launch of a reporter command for a mismatching *approved* file, as a `LaunchReporter` event holding the
+     * command and the path of the *approved* file.
+     */
+    public static void launchReporter(final String command, final Path approved, final Runnable launch) {
+        final LaunchReporterEvent event = new LaunchReporterEvent();
+        event.begin();
+        try {
+            launch.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = command;
+                event.path = approved.toString();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the size of a file, or the total size of the files of a folder (0 if it doesn't exist).
+     */
+    private static long size(final Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                try (final Stream<Path> files = Files.walk(path)) {
+                    return files.filter(Files::isRegularFile).mapToLong(ApprovalEvents::size).sum();
+                }
+            }
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (final IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    @Name("com.github.writethemfirst.approvals.Verify")
+    @Label("Approval Verification")
+    @Description("Verification of an output against its approved file or folder")
+    @Category("Approvals")
+    static class VerifyEvent extends Event {
+        @Label("Approved Path")
+        String path;
+
+        @Label("Approved Size")
+        @DataAmount
+        long size;
+    }
+
+    @Name("com.github.writethemfirst.approvals.CallerLookup")
+    @Label("Approval Caller Lookup")
+    @Description("Search of the test method in the current thread stacktrace")
+    @Category("Approvals")
+    static class CallerLookupEvent extends Event {
+        @Label("Test Class")
+        String testClass;
+    }
+
+    @Name("com.github.writethemfirst.approvals.Compare")
+    @Label("Approval Comparison")
+    @Description("Comparison of an approval file with an output or another file")
+    @Category("Approvals")
+    static class CompareEvent extends Event {
+        @Label("Compared Path")
+        String path;
+
+        @Label("Compared Size")
+        @DataAmount
+        long size;
+
+        @Label("Matches")
+        boolean matches;
+    }
+
+    @Name("com.github.writethemfirst.approvals.StageFolder")
+    @Label("Approval Folder Staging")
+    @Description("Copy of files in a received folder")
+    @Category("Approvals")
+    static class StageFolderEvent extends Event {
+        @Label("Folder Path")
+        String path;
+
+        @Label("Staged Size")
+        @DataAmount
+        long size;
+    }
+
+    @Name("com.github.writethemfirst.approvals.LaunchReporter")
+    @Label("Approval Reporter Launch")
+    @Description("Launch of a reporter command for a mismatch")
+    @Category("Approvals")
+    static class LaunchReporterEvent extends Event {
+        @Label("Command")
+        String command;
+
+        @Label("Approved Path")
+        String path;
+    }
+}
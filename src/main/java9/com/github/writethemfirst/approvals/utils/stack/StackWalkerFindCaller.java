@@ -0,0 +1,103 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils.stack;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Arrays.stream;
+
+/**
+ * # StackWalkerFindCaller
+ *
+ * Java 9+ version of the default implementation, packaged in the multi-release part of the library jar.
+ *
+ * The current thread stack is walked lazily with {@link StackWalker}, reading only class and method names, so no
+ * `StackTraceElement` (with its file name and line number) is ever built. It gives the same results as {@link
+ * JavaDefaultFindCaller}.
+ */
+public class StackWalkerFindCaller implements FindCaller {
+    private static final StackWalker walker = StackWalker.getInstance();
+
+    /**
+     * Returns the caller class of the first potential reference class found by searching the current thread
+     * stacktrace.
+     *
+     * Like {@link JavaDefaultFindCaller#callerClass(Class[])}, the reference is the potential reference class appearing
+     * last in the stack, so the whole stack needs to be walked. Only the names of the classes not seen yet are kept.
+     *
+     * @param potentialReferenceClasses An array of all potential reference classes to use to search for a caller class.
+     *                                  The first class which is found in the current stack trace will be used as
+     *                                  reference
+     * @return The caller class name of the first potential reference class found in the current stack trace
+     */
+    @Override
+    public String callerClass(final Class<?>... potentialReferenceClasses) {
+        final Set<String> referenceNames = new HashSet<>();
+        stream(potentialReferenceClasses).forEach(referenceClass -> referenceNames.add(referenceClass.getName()));
+
+        final Set<String> seen = new HashSet<>();
+        final String[] caller = {null};
+        final boolean[] referenceFound = {false};
+        final boolean[] waitingForCaller = {false};
+        walker.forEach(frame -> {
+            final String className = frame.getClassName();
+            if (!seen.add(className)) {
+                return;
+            }
+            if (referenceNames.contains(className)) {
+                referenceFound[0] = true;
+                waitingForCaller[0] = true;
+                caller[0] = null;
+            } else if (waitingForCaller[0]) {
+                waitingForCaller[0] = false;
+                caller[0] = className;
+            }
+        });
+
+        if (caller[0] != null) {
+            return caller[0];
+        }
+        if (referenceFound[0]) {
+            System.err.println("Reference class is found but appears to have no parent in the current stack trace...");
+        } else {
+            System.err.println("Can't locate any of the provided reference classes in the current stack trace...");
+        }
+        return "";
+    }
+
+    /**
+     * Returns the caller method of the provided `referenceClass`.
+     *
+     * The stack is walked from the top, and the walk stops at the first matching frame.
+     *
+     * @param referenceClassName the class for which we want to search the caller method in the current thread
+     *                           stacktrace
+     * @return An `Optional` object containing either the caller method name (as a `String`) or an empty value if it
+     * cannot be found
+     */
+    @Override
+    public Optional<String> callerMethod(final String referenceClassName) {
+        return walker.walk(frames -> frames
+            .filter(frame -> frame.getClassName().equals(referenceClassName))
+            .map(StackWalker.StackFrame::getMethodName)
+            .filter(methodName -> !methodName.startsWith("lambda$"))
+            .findFirst());
+    }
+}
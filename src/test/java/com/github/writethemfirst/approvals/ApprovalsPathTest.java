@@ -23,6 +23,7 @@ import io.github.glytching.junit.extension.system.SystemProperty;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -189,4 +190,80 @@ class ApprovalsPathTest {
 
         testUtils.cleanupPaths();
     }
+
+    @SystemProperty(name = "APPROVALS_PARALLELISM", value = "4")
+    @Test
+    void shouldThrowOnFirstMismatchInPathOrderWhenComparingInParallel() throws IOException {
+        final FolderTestUtils testUtils = new FolderTestUtils("shouldThrowOnFirstMismatchInPathOrderWhenComparingInParallel", getClass());
+        for (char c = 'z'; c >= 'a'; c--) {
+            testUtils.writeApproved("approved " + c, c + ".txt");
+        }
+
+        assertThatThrownBy(() -> approver.verify(testUtils.actual))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("expected [approved a] but was []");
+
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void shouldMatchFilesInSubFolders() throws IOException {
+        final FolderTestUtils testUtils = new FolderTestUtils("shouldMatchFilesInSubFolders", getClass());
+        testUtils.writeActual("nested content", "sub/folder/sample.xml");
+        testUtils.writeApproved("nested content", "sub/folder/sample.xml");
+
+        approver.verify(testUtils.actual);
+
+        assertThat(testUtils.received.resolve("sub/folder/sample.xml")).doesNotExist();
+
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void shouldCopyReceivedFilesByteForByte() throws IOException {
+        final FolderTestUtils testUtils = new FolderTestUtils("shouldCopyReceivedFilesByteForByte", getClass());
+        final byte[] binaryContent = {0, (byte) 0xFF, (byte) 0xC3, 0x28, '\r', '\n', 42};
+        Files.write(testUtils.actual.resolve("binary.bin"), binaryContent);
+
+        try {
+            approver.verify(testUtils.actual);
+        } catch (final AssertionError e) {
+            // expected
+        }
+
+        assertThat(testUtils.received.resolve("binary.bin")).hasBinaryContent(binaryContent);
+
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void shouldOnlyCopyMismatchingFilesToReceivedFolder() throws IOException {
+        final FolderTestUtils testUtils = new FolderTestUtils("shouldOnlyCopyMismatchingFilesToReceivedFolder", getClass());
+        testUtils.writeActual("same", "same.xml");
+        testUtils.writeApproved("same", "same.xml");
+        testUtils.writeActual("new", "different.xml");
+        testUtils.writeApproved("old", "different.xml");
+
+        assertThatThrownBy(() -> approver.verify(testUtils.actual))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("expected [old] but was [new]");
+
+        assertThat(testUtils.received.resolve("same.xml")).doesNotExist();
+        assertThat(testUtils.received.resolve("different.xml")).hasContent("new");
+
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void shouldNotCreateReceivedFolderWhenAllFilesMatch() throws IOException {
+        final FolderTestUtils testUtils = new FolderTestUtils("shouldNotCreateReceivedFolderWhenAllFilesMatch", getClass());
+        testUtils.writeActual("same", "same.xml");
+        testUtils.writeApproved("same", "same.xml");
+
+        approver.verify(testUtils.actual);
+
+        assertThat(testUtils.received).doesNotExist();
+
+        testUtils.cleanupPaths();
+    }
 }
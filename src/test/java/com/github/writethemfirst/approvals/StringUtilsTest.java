@@ -21,6 +21,7 @@ package com.github.writethemfirst.approvals;
 import org.junit.jupiter.api.Test;
 
 import static com.github.writethemfirst.approvals.utils.StringUtils.describeDifferences;
+import static com.github.writethemfirst.approvals.utils.StringUtils.sameContent;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class StringUtilsTest {
@@ -54,4 +55,51 @@ class StringUtilsTest {
                 "text\t12\n" +
                 "first difference at line#1 col#4: expected text[ ]2 but was text[\t1]2");
     }
+
+    @Test
+    void sameContentShouldIgnoreLineEndingsStyle() {
+        assertThat(sameContent("line1\r\nline2\r\n", "line1\nline2\n")).isTrue();
+        assertThat(sameContent("line1\nline2", "line1\r\nline2")).isTrue();
+    }
+
+    @Test
+    void sameContentShouldIgnoreTrailingLineEndings() {
+        assertThat(sameContent("line1\nline2", "line1\nline2\n\r\n")).isTrue();
+        assertThat(sameContent("", "\n")).isFalse();
+    }
+
+    @Test
+    void sameContentShouldDetectDifferences() {
+        assertThat(sameContent("line1\nline2", "line1\nline3")).isFalse();
+        assertThat(sameContent("line1\nline2", "line1\n\nline2")).isFalse();
+        assertThat(sameContent("line1\rline2", "line1\nline2")).isFalse();
+        assertThat(sameContent("line1", "line1 and more")).isFalse();
+    }
+
+    @Test
+    void shouldDescribeDifferencesWithUnifiedDiff() {
+        assertThat(describeDifferences("text1\ntext 2", "text1\ntext\t12", 3, 1000))
+            .isEqualTo(String.format("first difference at line#1 col#4: expected text[ ]2 but was text[\t1]2%n") +
+                "--- approved\n" +
+                "+++ received\n" +
+                "@@ -1,2 +1,2 @@\n" +
+                " text1\n" +
+                "-text 2\n" +
+                "+text\t12\n");
+    }
+
+    @Test
+    void shouldBoundTheDescriptionOfDifferences() {
+        final StringBuilder expected = new StringBuilder();
+        final StringBuilder actual = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expected.append("expected line ").append(i).append("\n");
+            actual.append("actual line ").append(i).append("\n");
+        }
+
+        assertThat(describeDifferences(expected.toString(), actual.toString(), 3, 1000))
+            .startsWith("first difference at line#0 col#0: expected [expected] line 0 but was [actual] line 0")
+            .contains("diff truncated")
+            .hasSizeLessThan(1200);
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.files;
+
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+import static com.github.writethemfirst.approvals.utils.ContentDigest.digest;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class DigestIndexTest {
+    private Path folder;
+    private Path approved;
+    private DigestIndex index;
+
+    @BeforeEach
+    void createApprovedFile(final TemporaryFolder temporaryFolder) {
+        folder = temporaryFolder.getRoot().toPath().resolve("SampleTest.files");
+        approved = folder.resolve("sample.approved");
+        write("approved", approved);
+        index = DigestIndex.forApproved(approved).orElseThrow(IllegalStateException::new);
+    }
+
+    @Test
+    void shouldOnlyIndexFilesOfFilesFolders(final TemporaryFolder temporaryFolder) {
+        assertThat(DigestIndex.forApproved(temporaryFolder.getRoot().toPath().resolve("sample.approved"))).isEmpty();
+        assertThat(DigestIndex.forApproved(folder.resolve("nested/other.approved"))).contains(index);
+    }
+
+    @Test
+    void shouldNotKnowFilesWithoutEntry() {
+        assertThat(index.knownToMatch(approved, "approved")).isFalse();
+    }
+
+    @Test
+    void shouldKnowRecordedContent() {
+        index.recordMatch(approved, "approved");
+
+        assertThat(index.knownToMatch(approved, "approved")).isTrue();
+        assertThat(index.knownToMatch(approved, "received")).isFalse();
+    }
+
+    @Test
+    void shouldNotTrustEntriesOfModifiedFiles() throws IOException {
+        index.recordMatch(approved, "approved");
+        final long modified = Files.getLastModifiedTime(approved).toMillis();
+        Files.setLastModifiedTime(approved, FileTime.fromMillis(modified + 10_000));
+
+        assertThat(index.knownToMatch(approved, "approved")).isFalse();
+    }
+
+    @Test
+    void shouldNotTrustEntriesOfRewrittenFiles() {
+        index.recordMatch(approved, "approved");
+        write("approved again", approved);
+
+        assertThat(index.knownToMatch(approved, "approved")).isFalse();
+        assertThat(index.knownToMatch(approved, "approved again")).isFalse();
+    }
+
+    @Test
+    void shouldKnowEntriesSavedByPreviousRuns(final TemporaryFolder temporaryFolder) throws IOException {
+        final Path previousFolder = temporaryFolder.getRoot().toPath().resolve("PreviousTest.files");
+        final Path previousApproved = previousFolder.resolve("previous.approved");
+        write("previous", previousApproved);
+        final Properties previousRun = new Properties();
+        previousRun.setProperty("previous.approved", String.format("%d %d %s", Files.size(previousApproved),
+            Files.getLastModifiedTime(previousApproved).toMillis(), digest("previous")));
+        try (final OutputStream output = Files.newOutputStream(previousFolder.resolve(".digests"))) {
+            previousRun.store(output, null);
+        }
+
+        final DigestIndex loaded = DigestIndex.forApproved(previousApproved).orElseThrow(IllegalStateException::new);
+
+        assertThat(loaded.knownToMatch(previousApproved, "previous")).isTrue();
+    }
+
+    @Test
+    void shouldSaveEntriesMergedWithTheOnesOfOtherJvms() throws IOException {
+        index.recordMatch(approved, "approved");
+        final Properties otherJvm = new Properties();
+        otherJvm.setProperty("other.approved", "5 0 digest");
+        try (final OutputStream output = Files.newOutputStream(folder.resolve(".digests"))) {
+            otherJvm.store(output, null);
+        }
+
+        index.save();
+
+        assertThat(sidecar().stringPropertyNames()).containsExactlyInAnyOrder("sample.approved", "other.approved");
+    }
+
+    @Test
+    void shouldOnlySaveWhenEntriesWereRecorded() throws IOException {
+        index.save();
+        assertThat(folder.resolve(".digests")).doesNotExist();
+
+        index.recordMatch(approved, "approved");
+        index.save();
+        Files.delete(folder.resolve(".digests"));
+        index.save();
+        assertThat(folder.resolve(".digests")).doesNotExist();
+    }
+
+    private Properties sidecar() throws IOException {
+        final Properties properties = new Properties();
+        try (final InputStream input = Files.newInputStream(folder.resolve(".digests"))) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
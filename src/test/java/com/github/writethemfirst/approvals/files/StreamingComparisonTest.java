@@ -0,0 +1,102 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRecursiveRemove;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingComparisonTest {
+    private Path folder;
+    private ApprovalFiles files;
+
+    @BeforeEach
+    void createFolder() throws IOException {
+        folder = Files.createTempDirectory("streaming");
+        files = new ApprovalFiles(folder.resolve("approved.txt"), folder.resolve("received.txt"));
+    }
+
+    @AfterEach
+    void removeFolder() {
+        silentRecursiveRemove(folder);
+    }
+
+    @Test
+    void shouldMatchChunksWithLineEndingsSplitAcrossChunks() {
+        write("line 1\r\nline 2\n", files.approved);
+
+        assertThat(compare("line", " 1\r", "\nline 2")).isTrue();
+        assertThat(files.received).doesNotExist();
+    }
+
+    @Test
+    void shouldWriteTheWholeOutputToReceivedOnFirstMismatch() {
+        write("line 1\nline 2\nline 3\n", files.approved);
+
+        assertThat(compare("line 1\n", "line 2", "!\nline 3\n")).isFalse();
+        assertThat(silentRead(files.received)).isEqualTo("line 1\nline 2!\nline 3\n");
+    }
+
+    @Test
+    void shouldWriteTheOutputToReceivedWithItsOwnLineEndings() throws IOException {
+        write("line 1\nline 2\r\n", files.approved);
+
+        assertThat(compare("line 1\r", "\nline 2\n", "line 3\r\n")).isFalse();
+        assertThat(new String(Files.readAllBytes(files.received), UTF_8)).isEqualTo("line 1\r\nline 2\nline 3\r\n");
+    }
+
+    @Test
+    void shouldWriteTrailingLineEndingsAndCarriageReturnsAsProduced() throws IOException {
+        write("a\rb", files.approved);
+
+        assertThat(compare("a\rb\r\n", "\n\r", "c")).isFalse();
+        assertThat(new String(Files.readAllBytes(files.received), UTF_8)).isEqualTo("a\rb\r\n\n\rc");
+    }
+
+    @Test
+    void shouldMismatchWhenOutputIsShorterThanApproved() {
+        write("line 1\nline 2\n", files.approved);
+
+        assertThat(compare("line 1\n")).isFalse();
+        assertThat(silentRead(files.received)).isEqualTo("line 1\n");
+    }
+
+    @Test
+    void shouldMismatchAMissingApprovedFile() {
+        assertThat(compare("content")).isFalse();
+        assertThat(silentRead(files.received)).isEqualTo("content");
+    }
+
+    private boolean compare(final String... chunks) {
+        final StreamingComparison comparison = new StreamingComparison(files);
+        for (final String chunk : chunks) {
+            comparison.append(chunk);
+        }
+        return comparison.matches();
+    }
+}
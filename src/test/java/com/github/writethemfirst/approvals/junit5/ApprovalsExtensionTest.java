@@ -0,0 +1,63 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.junit5;
+
+import com.github.writethemfirst.approvals.utils.stack.CurrentTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(ApprovalsExtension.class)
+class ApprovalsExtensionTest {
+    @Test
+    void shouldPublishTheCurrentTest() {
+        assertThat(CurrentTest.current()).hasValueSatisfying(test -> {
+            assertThat(test.className).isEqualTo(getClass().getName());
+            assertThat(test.methodName).isEqualTo("shouldPublishTheCurrentTest");
+        });
+    }
+
+    @Test
+    void shouldPublishTheCurrentTestToLambdas() {
+        Stream.of("whatever").forEach(s -> assertThat(CurrentTest.current())
+            .hasValueSatisfying(test -> assertThat(test.methodName).isEqualTo("shouldPublishTheCurrentTestToLambdas")));
+    }
+
+    @RepeatedTest(2)
+    void shouldDistinguishInvocations(final RepetitionInfo repetitionInfo) {
+        assertThat(CurrentTest.current()).hasValueSatisfying(test -> assertThat(test.methodName)
+            .isEqualTo("shouldDistinguishInvocations_" + repetitionInfo.getCurrentRepetition()));
+    }
+
+    @Nested
+    class NestedTests {
+        @Test
+        void shouldPublishTheNestedClass() {
+            assertThat(CurrentTest.current()).hasValueSatisfying(test -> {
+                assertThat(test.className).isEqualTo(NestedTests.class.getName());
+                assertThat(test.methodName).isEqualTo("shouldPublishTheNestedClass");
+            });
+        }
+    }
+}
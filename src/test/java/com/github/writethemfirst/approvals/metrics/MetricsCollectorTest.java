@@ -0,0 +1,88 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.metrics;
+
+import com.github.writethemfirst.approvals.approvers.Approver;
+import com.github.writethemfirst.approvals.reporters.ThrowsReporter;
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class MetricsCollectorTest {
+
+    @Test
+    void shouldNotifyListenersOfEachVerification(final TemporaryFolder temporaryFolder) {
+        final Path folder = temporaryFolder.getRoot().toPath();
+        final List<VerificationMetrics> verifications = new CopyOnWriteArrayList<>();
+        final VerificationListener listener = verifications::add;
+        final Approver approver = new Approver().writeToFolder(folder.toString()).writeTo("sample")
+            .reportTo(new ThrowsReporter());
+        write("approved", folder.resolve("sample.approved"));
+
+        Instrumentation.register(listener);
+        try {
+            approver.verify("approved");
+            assertThatThrownBy(() -> approver.verify("received")).isInstanceOf(AssertionError.class);
+        } finally {
+            Instrumentation.unregister(listener);
+        }
+
+        assertThat(verifications).hasSize(2);
+        final VerificationMetrics match = verifications.get(0);
+        assertThat(match.testClass).isEqualTo(getClass().getName());
+        assertThat(match.approved).isEqualTo(folder.resolve("sample.approved"));
+        assertThat(match.matches).isTrue();
+        assertThat(match.bytesRead).isEqualTo(8);
+        assertThat(match.bytesWritten).isZero();
+        final VerificationMetrics mismatch = verifications.get(1);
+        assertThat(mismatch.matches).isFalse();
+        assertThat(mismatch.bytesWritten).isEqualTo(8);
+        assertThat(mismatch.writeNanos).isPositive();
+    }
+
+    @Test
+    void shouldWriteSummaryPerTestClass(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path summaryFile = temporaryFolder.getRoot().toPath().resolve("target").resolve("metrics.csv");
+        final MetricsCollector collector = new MetricsCollector(summaryFile);
+
+        collector.verified(new VerificationMetrics("Fast", Paths.get("a"), true, 1_000_000, 0, 2_000_000, 0, 10, 0));
+        collector.verified(new VerificationMetrics("Slow", Paths.get("b"), false, 0, 0, 5_000_000, 1_000_000, 20, 20));
+        collector.verified(new VerificationMetrics("Fast", Paths.get("c"), true, 0, 500_000, 1_000_000, 0, 30, 0));
+        collector.writeSummary();
+
+        assertThat(Files.exists(summaryFile)).isTrue();
+        assertThat(silentRead(summaryFile)).isEqualTo(
+            "test_class,verifications,mismatches,total_ms,caller_resolution_ms,read_ms,compare_ms,write_ms," +
+                "bytes_read,bytes_written\n" +
+                "Slow,1,1,6.000,0.000,0.000,5.000,1.000,20,20\n" +
+                "Fast,2,0,4.500,1.000,0.500,3.000,0.000,40,0\n");
+    }
+}
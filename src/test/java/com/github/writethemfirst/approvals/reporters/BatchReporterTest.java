@@ -0,0 +1,143 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.reporters;
+
+import com.github.writethemfirst.approvals.Reporter;
+import com.github.writethemfirst.approvals.files.ApprovalFiles;
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class BatchReporterTest {
+    private final Reporter delegate = mock(Reporter.class);
+
+    @BeforeEach
+    void availableDelegate() {
+        given(delegate.isAvailable()).willReturn(true);
+    }
+
+    @Test
+    void shouldReportAllMismatchesAtOnce(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final ApprovalFiles first = new ApprovalFiles(root.resolve("a.approved"), root.resolve("a.received"));
+        final ApprovalFiles second = new ApprovalFiles(root.resolve("b.approved"), root.resolve("b.received"));
+        write("approved a", first.approved);
+        write("received a", first.received);
+        write("received b", second.received);
+        final BatchReporter reporter = new BatchReporter(delegate);
+        final List<Path> stagedApproved = new ArrayList<>();
+        final List<String> stagedReceived = new ArrayList<>();
+        final List<Path> staging = new ArrayList<>();
+        willAnswer(invocation -> {
+            final ApprovalFiles staged = invocation.getArgument(0);
+            staging.add(staged.approved.getParent());
+            stagedApproved.addAll(stagedFiles(staged.approved));
+            stagedFiles(staged.received).forEach(file -> stagedReceived.add(silentRead(file)));
+            return null;
+        }).given(delegate).mismatch(any(ApprovalFiles.class));
+
+        reporter.mismatch(first);
+        reporter.mismatch(second);
+        then(delegate).should(never()).mismatch(any(ApprovalFiles.class));
+        reporter.flush();
+
+        then(delegate).should().mismatch(any(ApprovalFiles.class));
+        assertThat(stagedApproved).hasSize(1);
+        assertThat(stagedReceived).containsExactlyInAnyOrder("received a", "received b");
+        assertThat(staging.get(0)).doesNotExist();
+        assertThat(first.approved).hasContent("approved a");
+    }
+
+    @Test
+    void shouldNotReportToUnavailableOrThrowingReporters(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final ApprovalFiles files = new ApprovalFiles(root.resolve("a.approved"), root.resolve("a.received"));
+        write("received a", files.received);
+        final Reporter throwing = mock(ThrowsReporter.class);
+        given(throwing.isAvailable()).willReturn(true);
+        given(delegate.isAvailable()).willReturn(false);
+
+        final BatchReporter toThrowing = new BatchReporter(new FirstWorkingReporter(throwing));
+        toThrowing.mismatch(files);
+        toThrowing.flush();
+        final BatchReporter toUnavailable = new BatchReporter(delegate);
+        toUnavailable.mismatch(files);
+        toUnavailable.flush();
+
+        then(throwing).should(never()).mismatch(any(ApprovalFiles.class));
+        then(delegate).should(never()).mismatch(any(ApprovalFiles.class));
+    }
+
+    @Test
+    void shouldLaunchCommandReportersAsynchronouslyAtShutdown() {
+        final CommandReporter command = mock(CommandReporter.class);
+        final CommandReporter async = mock(CommandReporter.class);
+        given(command.isAvailable()).willReturn(true);
+        given(command.async()).willReturn(async);
+
+        assertThat(BatchReporter.folderReporter(command, true)).contains(async);
+        assertThat(BatchReporter.folderReporter(command, false)).contains(command);
+    }
+
+    @Test
+    void shouldNotReportTwice(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final ApprovalFiles files = new ApprovalFiles(root.resolve("a.approved"), root.resolve("a.received"));
+        write("received a", files.received);
+        final BatchReporter reporter = new BatchReporter(delegate);
+
+        reporter.mismatch(files);
+        reporter.flush();
+        reporter.flush();
+
+        then(delegate).should().mismatch(any(ApprovalFiles.class));
+    }
+
+    /**
+     * Lists the staged files, which may be symbolic links.
+     */
+    private static List<Path> stagedFiles(final Path folder) {
+        try (final Stream<Path> paths = Files.walk(folder)) {
+            return paths.filter(path -> !Files.isDirectory(path)).collect(toList());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.reporters;
+
+import com.github.writethemfirst.approvals.Reporter;
+import com.github.writethemfirst.approvals.approvers.Approver;
+import com.github.writethemfirst.approvals.files.ApprovalFiles;
+import com.github.writethemfirst.approvals.testutils.SimpleTestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+
+class DefaultReporterTest {
+    @Test
+    void shouldNotSearchForReporterBeforeFirstMismatch() {
+        final DefaultReporter reporter = spy(new DefaultReporter());
+        final Approver approver = new Approver().reportTo(reporter);
+        final SimpleTestUtils testUtils =
+            new SimpleTestUtils("shouldNotSearchForReporterBeforeFirstMismatch", getClass());
+        testUtils.writeApproved("approved text");
+
+        approver.verify("approved text");
+
+        then(reporter).should(never()).reporter();
+        assertThat(reporter).hasToString("DefaultReporter (not searched yet)");
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void shouldSearchForReporterOnFirstMismatch() {
+        final DefaultReporter reporter = spy(new DefaultReporter());
+        final Reporter found = mock(Reporter.class);
+        willReturn(found).given(reporter).reporter();
+        final Approver approver = new Approver().reportTo(reporter);
+        final SimpleTestUtils testUtils = new SimpleTestUtils("shouldSearchForReporterOnFirstMismatch", getClass());
+        testUtils.writeApproved("approved text");
+
+        assertThatThrownBy(() -> approver.verify("actual text")).isInstanceOf(AssertionError.class);
+
+        then(reporter).should().reporter();
+        then(found).should().mismatch(any(ApprovalFiles.class));
+        testUtils.cleanupPaths();
+    }
+
+    @Test
+    void defaultReporterShouldBeLazy() {
+        assertThat(Reporter.DEFAULT).isInstanceOf(DefaultReporter.class);
+    }
+}
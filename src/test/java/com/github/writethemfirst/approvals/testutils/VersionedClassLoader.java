@@ -0,0 +1,111 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.testutils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+
+/**
+ * # VersionedClassLoader
+ *
+ * Tests run against the compiled classes and not against the multi-release jar, so the classes compiled in
+ * `META-INF/versions/N` are never loaded instead of the base classes.
+ *
+ * This class loader defines a class (and its nested classes) from its versioned bytecode found in the classpath, and
+ * delegates all the other classes to its parent, so the versioned class can be tested as the library jar would load
+ * it on a recent JVM.
+ */
+public class VersionedClassLoader extends ClassLoader {
+    private final int version;
+    private final String className;
+
+    /**
+     * @param version   The Java version of the versioned class (the `N` of `META-INF/versions/N`)
+     * @param baseClass The base class, whose versioned class is to be loaded
+     */
+    public VersionedClassLoader(final int version, final Class<?> baseClass) {
+        super(baseClass.getClassLoader());
+        this.version = version;
+        this.className = baseClass.getName();
+    }
+
+    /**
+     * Checks if the versioned class has been compiled, which is only the case when building with a recent enough JDK.
+     *
+     * @return true if the versioned class can be found in the classpath
+     */
+    public boolean hasVersionedClass() {
+        return versionedResource(className) != null;
+    }
+
+    /**
+     * Returns the versioned class.
+     *
+     * @return The versioned class, which is a different class than the base class
+     */
+    public Class<?> versionedClass() {
+        try {
+            return loadClass(className);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+        if (!name.equals(className) && !name.startsWith(className + "$")) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                final byte[] bytecode = read(name);
+                loaded = defineClass(name, bytecode, 0, bytecode.length);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private URL versionedResource(final String name) {
+        return getParent().getResource(String.format("META-INF/versions/%d/%s.class", version, name.replace('.', '/')));
+    }
+
+    private byte[] read(final String name) throws ClassNotFoundException {
+        final URL resource = versionedResource(name);
+        if (resource == null) {
+            throw new ClassNotFoundException(name);
+        }
+        try (final InputStream input = resource.openStream()) {
+            final ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                bytecode.write(buffer, 0, read);
+            }
+            return bytecode.toByteArray();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
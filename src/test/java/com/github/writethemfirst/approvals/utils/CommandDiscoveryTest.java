@@ -0,0 +1,62 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import io.github.glytching.junit.extension.system.SystemProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class CommandDiscoveryTest {
+
+    @Test
+    @SystemProperty(name = "APPROVALS_DISCOVERY_CACHE", value = "false")
+    void shouldFindTheSameExecutablesAsFindersSearchingOneByOne(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        for (final String executable : asList("a/meld", "b/c/kdiff3", "tools/meld", "tools/x/kdiff3")) {
+            final Path path = root.resolve(executable);
+            Files.createDirectories(path.getParent());
+            Files.createFile(path);
+        }
+        final List<CommandFinder> finders = asList(
+            new CommandFinder(root.toString(), "meld"),
+            new CommandFinder(root.toString(), "kdiff3"),
+            new CommandFinder(root.resolve("tools").toString(), "meld"),
+            new CommandFinder(root.resolve("missing").toString(), "meld"));
+        final List<List<String>> searchedOneByOne = finders.stream()
+            .map(finder -> finder.searchForAllExe().collect(toList()))
+            .collect(toList());
+
+        CommandDiscovery.discover(finders);
+
+        assertThat(finders)
+            .extracting(finder -> finder.searchForAllExe().collect(toList()))
+            .containsExactlyElementsOf(searchedOneByOne);
+        assertThat(finders.get(0).searchForAllExe()).hasSize(2);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static com.github.writethemfirst.approvals.utils.ContentDigest.digest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentDigestTest {
+
+    @Test
+    void digestShouldIgnoreLineEndingsStyle() {
+        assertThat(digest("line1\r\nline2\r\n")).isEqualTo(digest("line1\nline2"));
+    }
+
+    @Test
+    void digestShouldDependOnContent() {
+        assertThat(digest("line1\nline2")).isNotEqualTo(digest("line1\nline3"));
+        assertThat(digest("line1\nline2")).isNotEqualTo(digest("line1\n\nline2"));
+        assertThat(digest("")).isNotEqualTo(digest("\n"));
+    }
+}
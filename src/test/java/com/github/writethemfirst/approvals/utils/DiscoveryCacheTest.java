@@ -0,0 +1,73 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class DiscoveryCacheTest {
+
+    @Test
+    void shouldShareFoundExecutablesBetweenInstances(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path folder = Files.createDirectories(root.resolve("tools"));
+        final Path executable = Files.createFile(folder.resolve("meld"));
+        final Path cacheFile = root.resolve("cache");
+
+        new DiscoveryCache(cacheFile).store(folder, "meld", singletonList(executable));
+
+        assertThat(new DiscoveryCache(cacheFile).cached(folder, "meld")).contains(singletonList(executable));
+        assertThat(new DiscoveryCache(cacheFile).cached(folder, "kdiff3")).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreEntryWhenFolderIsModified(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path folder = Files.createDirectories(root.resolve("tools"));
+        final DiscoveryCache cache = new DiscoveryCache(root.resolve("cache"));
+        cache.store(folder, "meld", singletonList(Files.createFile(folder.resolve("meld"))));
+
+        Files.setLastModifiedTime(folder, FileTime.fromMillis(Files.getLastModifiedTime(folder).toMillis() + 1000));
+
+        assertThat(cache.cached(folder, "meld")).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreEntryWhenExecutableIsRemoved(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path folder = Files.createDirectories(root.resolve("tools"));
+        final Path bin = Files.createDirectories(folder.resolve("bin"));
+        final Path executable = Files.createFile(bin.resolve("meld"));
+        final DiscoveryCache cache = new DiscoveryCache(root.resolve("cache"));
+        cache.store(folder, "meld", singletonList(executable));
+
+        Files.delete(executable);
+
+        assertThat(cache.cached(folder, "meld")).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import com.github.writethemfirst.approvals.utils.FileTreeWalker.Entry;
+import com.github.writethemfirst.approvals.utils.FileTreeWalker.JoinedEntry;
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import io.github.glytching.junit.extension.system.SystemProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static com.github.writethemfirst.approvals.utils.FileTreeWalker.UNLIMITED_DEPTH;
+import static com.github.writethemfirst.approvals.utils.FileUtils.listFiles;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class FileTreeWalkerTest {
+
+    @Test
+    void shouldListFilesAtAnyDepthSortedWithTheirSize(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        write("deep", root.resolve("a/b/c/d/e/f/g/deep.txt"));
+        write("12345", root.resolve("b.txt"));
+        write("", root.resolve("a/a.txt"));
+
+        final List<Entry> entries = FileTreeWalker.walk(root, UNLIMITED_DEPTH);
+
+        assertThat(entries).extracting(entry -> entry.relativePath).containsExactly(
+            Paths.get("a/a.txt"), Paths.get("a/b/c/d/e/f/g/deep.txt"), Paths.get("b.txt"));
+        assertThat(entries).extracting(entry -> entry.size).containsExactly(0L, 4L, 5L);
+        assertThat(entries.get(2).path).isEqualTo(root.resolve("b.txt"));
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_MAX_DEPTH", value = "2")
+    void shouldLimitDepthWhenConfigured(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        write("top", root.resolve("top.txt"));
+        write("second", root.resolve("a/second.txt"));
+        write("third", root.resolve("a/b/third.txt"));
+
+        assertThat(listFiles(root)).containsExactly(root.resolve("a/second.txt"), root.resolve("top.txt"));
+    }
+
+    @Test
+    void shouldReturnNothingForMissingFolder(final TemporaryFolder temporaryFolder) {
+        assertThat(FileTreeWalker.walk(temporaryFolder.getRoot().toPath().resolve("missing"), UNLIMITED_DEPTH)).isEmpty();
+    }
+
+    @Test
+    void shouldPairFilesOfBothFoldersByRelativePath(final TemporaryFolder temporaryFolder) {
+        final Path left = temporaryFolder.getRoot().toPath().resolve("left");
+        final Path right = temporaryFolder.getRoot().toPath().resolve("right");
+        write("both", left.resolve("sub/both.txt"));
+        write("both", right.resolve("sub/both.txt"));
+        write("left", left.resolve("left.txt"));
+        write("right", right.resolve("right.txt"));
+
+        final List<JoinedEntry> joined = FileTreeWalker.join(left, right, UNLIMITED_DEPTH);
+
+        assertThat(joined).extracting(entry -> entry.relativePath).containsExactly(
+            Paths.get("left.txt"), Paths.get("right.txt"), Paths.get("sub/both.txt"));
+        assertThat(joined.get(0).left()).isPresent();
+        assertThat(joined.get(0).right()).isEmpty();
+        assertThat(joined.get(1).left()).isEmpty();
+        assertThat(joined.get(1).right()).isPresent();
+        assertThat(joined.get(2).left().map(entry -> entry.path)).contains(left.resolve("sub/both.txt"));
+        assertThat(joined.get(2).right().map(entry -> entry.path)).contains(right.resolve("sub/both.txt"));
+    }
+}
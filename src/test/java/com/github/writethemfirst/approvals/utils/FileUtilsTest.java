@@ -0,0 +1,124 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import io.github.glytching.junit.extension.system.SystemProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.copy;
+import static com.github.writethemfirst.approvals.utils.FileUtils.listFiles;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRecursiveRemove;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentSameContent;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(TemporaryFolderExtension.class)
+class FileUtilsTest {
+
+    @Test
+    @SystemProperty(name = "APPROVALS_WRITE_BUFFER_SIZE", value = "16")
+    @SystemProperty(name = "APPROVALS_FSYNC", value = "true")
+    void shouldWriteWithConfiguredBufferAndFsync(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("sub").resolve("approved.txt");
+        final String content = IntStream.range(0, 1000).mapToObj(i -> "line " + i + "\n").collect(joining());
+
+        write(content, file);
+
+        assertThat(silentRead(file)).isEqualTo(content);
+        try (final Stream<Path> files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_CHARSET", value = "ISO-8859-1")
+    void shouldReadAndWriteWithConfiguredCharset(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("approved.txt");
+
+        write("liné", file);
+
+        assertThat(Files.readAllBytes(file)).containsExactly('l', 'i', 'n', 0xE9);
+        assertThat(silentRead(file)).isEqualTo("liné");
+        assertThat(silentSameContent(file, "liné\n")).isTrue();
+    }
+
+    @Test
+    void shouldReplaceExistingFileWhenCopying(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path source = root.resolve("source.txt");
+        final Path destination = root.resolve("destination.txt");
+        write("new", source);
+        write("old", destination);
+
+        copy(source, destination);
+
+        assertThat(silentRead(destination)).isEqualTo("new");
+        try (final Stream<Path> files = Files.list(root)) {
+            assertThat(files).containsExactlyInAnyOrder(source, destination);
+        }
+    }
+
+    @Test
+    void shouldCopyAndRemoveTrees(final TemporaryFolder temporaryFolder) {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path source = root.resolve("source");
+        IntStream.range(0, 100).forEach(i -> write("file " + i, source.resolve("sub" + i % 3).resolve(i + ".txt")));
+
+        for (final int parallelism : new int[]{1, 4}) {
+            final Path destination = root.resolve("destination" + parallelism);
+
+            copy(source, destination, parallelism);
+
+            assertThat(listFiles(destination)).hasSize(100);
+            assertThat(silentRead(destination.resolve("sub1").resolve("31.txt"))).isEqualTo("file 31");
+
+            silentRecursiveRemove(destination, parallelism);
+
+            assertThat(destination).doesNotExist();
+            assertThat(listFiles(source)).hasSize(100);
+        }
+    }
+
+    @Test
+    void shouldNotFollowLinksWhenRemoving(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path root = temporaryFolder.getRoot().toPath();
+        final Path kept = root.resolve("kept").resolve("file.txt");
+        write("kept", kept);
+
+        for (final int parallelism : new int[]{1, 4}) {
+            final Path removed = root.resolve("removed" + parallelism);
+            Files.createDirectories(removed);
+            Files.createSymbolicLink(removed.resolve("link"), kept.getParent());
+
+            silentRecursiveRemove(removed, parallelism);
+
+            assertThat(removed).doesNotExist();
+            assertThat(kept).exists();
+        }
+    }
+}
@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 class FunctionUtilsTest {
     private final Approver approvals = new Approver();
 
@@ -34,5 +36,15 @@ class FunctionUtilsTest {
         approvals.verify(results);
     }
 
+    @Test
+    void shouldProduceSameResultsWhenCalledInParallel() {
+        final List<Integer> args1 = Arrays.asList(10, 20, 30, 40, 50);
+        final List<Long> args2 = Arrays.asList(4L, 5L, 0L);
+        final List<String> args3 = Arrays.asList("a", "b");
+
+        assertThat(FunctionUtils.applyCombinationsInParallel(4, args1, args2, args3, (a, b, c) -> a / b + c))
+            .isEqualTo(FunctionUtils.applyCombinations(args1, args2, args3, (a, b, c) -> a / b + c));
+    }
+
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileComparatorTest {
+
+    @Test
+    void shouldMatchIgnoringLineEndingsStyle() throws IOException {
+        final Path file = fileWith("line1\r\nliné2\r\n");
+
+        assertThat(MappedFileComparator.sameContent(file, "line1\nliné2", UTF_8)).isTrue();
+
+        Files.delete(file);
+    }
+
+    @Test
+    void shouldDetectDifferences() throws IOException {
+        final Path file = fileWith("line1\nline2\n");
+
+        assertThat(MappedFileComparator.sameContent(file, "line1\nline3\n", UTF_8)).isFalse();
+        assertThat(MappedFileComparator.sameContent(file, "line1\nline2\nline3", UTF_8)).isFalse();
+        assertThat(MappedFileComparator.sameContent(file, "", UTF_8)).isFalse();
+
+        Files.delete(file);
+    }
+
+    @Test
+    void shouldCompareFilesWithoutDecodingThem() throws IOException {
+        final Path file = fileWith("line1\r\nliné2\r\n");
+        final Path sameFile = fileWith("line1\nliné2");
+        final Path otherFile = fileWith("line1\nline2");
+
+        assertThat(MappedFileComparator.sameContent(file, sameFile)).isTrue();
+        assertThat(MappedFileComparator.sameContent(file, otherFile)).isFalse();
+
+        Files.delete(file);
+        Files.delete(sameFile);
+        Files.delete(otherFile);
+    }
+
+    @Test
+    void shouldCompareLargeContent() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            content.append("line #").append(i).append("\n");
+        }
+        final Path file = fileWith(content.toString());
+
+        assertThat(MappedFileComparator.sameContent(file, content, UTF_8)).isTrue();
+        assertThat(MappedFileComparator.sameContent(file, content.append("one more line"), UTF_8)).isFalse();
+
+        Files.delete(file);
+    }
+
+    private Path fileWith(final String content) throws IOException {
+        final Path file = Files.createTempFile("mapped", ".txt");
+        write(content, file);
+        return file;
+    }
+}
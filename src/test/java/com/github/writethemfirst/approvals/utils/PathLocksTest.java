@@ -0,0 +1,89 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import io.github.glytching.junit.extension.system.SystemProperty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.silentRead;
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static com.github.writethemfirst.approvals.utils.ParallelUtils.inPool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathLocksTest {
+    private int counter = 0;
+
+    @Test
+    void shouldRunWorkOnTheSamePathOneAtATime() {
+        final Path path = Paths.get("approved.txt");
+
+        inPool(8, () -> {
+            IntStream.range(0, 1000).parallel().forEach(i -> PathLocks.withLock(path, () -> counter++));
+            return null;
+        });
+
+        assertThat(counter).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldBeReentrant() {
+        final Path path = Paths.get("approved.txt");
+
+        final String result = PathLocks.withLock(path, () -> PathLocks.withLock(path, () -> "nested"));
+
+        assertThat(result).isEqualTo("nested");
+    }
+
+    @Test
+    @ExtendWith(TemporaryFolderExtension.class)
+    void concurrentWritesShouldLeaveACompleteFile(final TemporaryFolder temporaryFolder) throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("approved.txt");
+
+        inPool(8, () -> {
+            IntStream.range(0, 100).parallel().forEach(i -> write(i % 2 == 0 ? "even" : "odd", file));
+            return null;
+        });
+
+        assertThat(silentRead(file)).isIn("even", "odd");
+        try (final Stream<Path> files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void lockFilesShouldBeInTheTemporaryDirectoryByDefault() {
+        final Path temporaryDirectory = Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+
+        assertThat(PathLocks.lockFolder()).isEqualTo(temporaryDirectory.resolve("approvals-java-locks"));
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_LOCK_FOLDER", value = "custom-locks")
+    void lockFilesShouldBeInTheConfiguredFolder() {
+        assertThat(PathLocks.lockFolder()).isEqualTo(Paths.get("custom-locks").toAbsolutePath());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import io.github.glytching.junit.extension.system.SystemProperty;
+import org.junit.jupiter.api.Test;
+
+import static com.github.writethemfirst.approvals.utils.PropertyUtils.intProperty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyUtilsTest {
+    @Test
+    void shouldUseDefaultValueWhenPropertyIsNotSet() {
+        assertThat(intProperty("APPROVALS_TEST_PROPERTY", 42)).isEqualTo(42);
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_TEST_PROPERTY", value = " 16 ")
+    void shouldReadConfiguredValue() {
+        assertThat(intProperty("APPROVALS_TEST_PROPERTY", 42)).isEqualTo(16);
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_TEST_PROPERTY", value = "-3")
+    void shouldRaiseValuesLowerThanOne() {
+        assertThat(intProperty("APPROVALS_TEST_PROPERTY", 42)).isEqualTo(1);
+    }
+
+    @Test
+    @SystemProperty(name = "APPROVALS_TEST_PROPERTY", value = "many")
+    void shouldUseDefaultValueWhenPropertyIsInvalid() {
+        assertThat(intProperty("APPROVALS_TEST_PROPERTY", 42)).isEqualTo(42);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnifiedDiffTest {
+
+    @Test
+    void shouldBeEmptyWithoutDifferences() {
+        assertThat(UnifiedDiff.between(asList("a", "b"), asList("a", "b")).render(3, 1000)).isEmpty();
+    }
+
+    @Test
+    void shouldSplitDistantChangesInHunks() {
+        final String diff = UnifiedDiff
+            .between(
+                asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j"),
+                asList("a", "B", "c", "d", "e", "f", "g", "h", "j", "k"))
+            .render(2, 1000);
+
+        assertThat(diff).isEqualTo("--- approved\n" +
+            "+++ received\n" +
+            "@@ -1,4 +1,4 @@\n" +
+            " a\n" +
+            "-b\n" +
+            "+B\n" +
+            " c\n" +
+            " d\n" +
+            "@@ -7,4 +7,4 @@\n" +
+            " g\n" +
+            " h\n" +
+            "-i\n" +
+            " j\n" +
+            "+k\n");
+    }
+
+    @Test
+    void shouldDescribeRemovedContent() {
+        assertThat(UnifiedDiff.between(asList("a"), emptyList()).render(3, 1000)).isEqualTo("--- approved\n" +
+            "+++ received\n" +
+            "@@ -1,1 +0,0 @@\n" +
+            "-a\n");
+    }
+}
@@ -24,6 +24,8 @@ import java.util.stream.Stream;
 import static com.github.writethemfirst.approvals.utils.stack.StackUtils.callerClass;
 import static com.github.writethemfirst.approvals.utils.stack.StackUtils.callerMethod;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 class StackUtilsTest {
     @Test
@@ -55,6 +57,24 @@ class StackUtilsTest {
     }
 
 
+    @Test
+    void findCallerShouldBeLoadedOnlyOnce() {
+        assertThat(StackUtils.getFindCaller()).isSameAs(StackUtils.getFindCaller());
+    }
+
+    @Test
+    void overriddenFindCallerShouldBeUsed() {
+        final FindCaller findCaller = mock(FindCaller.class);
+        given(findCaller.callerClass(StackUtils.class)).willReturn("overridden");
+        try {
+            StackUtils.useFindCaller(findCaller);
+            assertThat(callerClass(StackUtils.class)).isEqualTo("overridden");
+        } finally {
+            StackUtils.useFindCaller(null);
+        }
+        assertThat(callerClass(StackUtils.class)).isEqualTo(getClass().getName());
+    }
+
     @Test
     void methodNameShouldNotBeLambda() {
         Stream.of("whatever")
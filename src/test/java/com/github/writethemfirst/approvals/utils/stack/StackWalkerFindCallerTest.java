@@ -0,0 +1,105 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils.stack;
+
+import com.github.writethemfirst.approvals.testutils.VersionedClassLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the Java 9+ {@link StackWalkerFindCaller} (from `META-INF/versions/9`, not the Java 8 one of the test
+ * classpath) gives the same results as {@link JavaDefaultFindCaller}.
+ */
+class StackWalkerFindCallerTest {
+    private final FindCaller javaDefault = new JavaDefaultFindCaller();
+    private FindCaller stackWalker;
+
+    @BeforeEach
+    void loadVersionedFindCaller() throws ReflectiveOperationException {
+        final VersionedClassLoader loader = new VersionedClassLoader(9, StackWalkerFindCaller.class);
+        assumeTrue(loader.hasVersionedClass(), "Java 9 classes are only compiled when building with a JDK 9+");
+        final Class<?> versioned = loader.versionedClass();
+        assertThat(JavaDefaultFindCaller.class.isAssignableFrom(versioned)).isFalse();
+        stackWalker = (FindCaller) versioned.getConstructor().newInstance();
+    }
+
+    @Test
+    void callerClassShouldBeTheTestClass() {
+        assertThat(Reference.callerClass(stackWalker))
+            .isEqualTo(Reference.callerClass(javaDefault))
+            .isEqualTo(getClass().getName());
+    }
+
+    @Test
+    void callerClassShouldBeTheCallerOfTheOutermostReference() {
+        assertThat(OuterReference.callerClass(stackWalker))
+            .isEqualTo(OuterReference.callerClass(javaDefault))
+            .isEqualTo(getClass().getName());
+    }
+
+    @Test
+    void callerClassShouldBeEmptyWithoutReference() {
+        assertThat(stackWalker.callerClass(String.class))
+            .isEqualTo(javaDefault.callerClass(String.class))
+            .isEmpty();
+    }
+
+    @Test
+    void callerMethodShouldBeTheTestMethod() {
+        assertThat(stackWalker.callerMethod(getClass().getName()))
+            .isEqualTo(javaDefault.callerMethod(getClass().getName()))
+            .contains("callerMethodShouldBeTheTestMethod");
+    }
+
+    @Test
+    void callerMethodShouldNotBeLambda() {
+        Stream.of("whatever").forEach(s -> assertThat(stackWalker.callerMethod(getClass().getName()))
+            .isEqualTo(javaDefault.callerMethod(getClass().getName()))
+            .contains("callerMethodShouldNotBeLambda"));
+    }
+
+    @Test
+    void callerMethodShouldBeEmptyOutsideOfTheStack() {
+        assertThat(stackWalker.callerMethod(String.class.getName()))
+            .isEqualTo(javaDefault.callerMethod(String.class.getName()))
+            .isEmpty();
+    }
+
+    static class Reference {
+        static String callerClass(final FindCaller findCaller) {
+            return findCaller.callerClass(Reference.class);
+        }
+    }
+
+    static class OuterReference {
+        static String callerClass(final FindCaller findCaller) {
+            return InnerReference.callerClass(findCaller);
+        }
+    }
+
+    static class InnerReference {
+        static String callerClass(final FindCaller findCaller) {
+            return findCaller.callerClass(InnerReference.class, OuterReference.class);
+        }
+    }
+}
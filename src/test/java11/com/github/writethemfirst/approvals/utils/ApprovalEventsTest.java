@@ -0,0 +1,139 @@
+/*
+ * Approvals-Java - Approval testing library for Java. Alleviates the burden of hand-writing assertions.
+ * Copyright © 2018 Write Them First!
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.writethemfirst.approvals.utils;
+
+import com.github.writethemfirst.approvals.testutils.VersionedClassLoader;
+import io.github.glytching.junit.extension.folder.TemporaryFolder;
+import io.github.glytching.junit.extension.folder.TemporaryFolderExtension;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.writethemfirst.approvals.utils.FileUtils.write;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the Java 11+ {@link ApprovalEvents} (from `META-INF/versions/11`, not the no-op one of the test classpath)
+ * commits its Flight Recorder events with their attributes.
+ */
+@ExtendWith(TemporaryFolderExtension.class)
+class ApprovalEventsTest {
+    private static final List<String> EVENT_NAMES = Stream.of("Verify", "CallerLookup", "Compare", "StageFolder",
+        "LaunchReporter").map(name -> "com.github.writethemfirst.approvals." + name).collect(toList());
+
+    private Class<?> events;
+    private Path approved;
+    private Path folder;
+
+    @BeforeEach
+    void loadVersionedEvents(final TemporaryFolder temporaryFolder) {
+        final VersionedClassLoader loader = new VersionedClassLoader(11, ApprovalEvents.class);
+        assumeTrue(loader.hasVersionedClass(), "Java 11 classes are only compiled when building with a JDK 11+");
+        events = loader.versionedClass();
+        final Path root = temporaryFolder.getRoot().toPath();
+        approved = root.resolve("sample.approved");
+        folder = root.resolve("received");
+        write("approved", approved);
+        write("staged", folder.resolve("first.txt"));
+        write("staged again", folder.resolve("nested/second.txt"));
+    }
+
+    @Test
+    void shouldCommitAllEventsWithTheirAttributes(final TemporaryFolder temporaryFolder) throws Exception {
+        final List<RecordedEvent> recorded;
+        try (final Recording recording = new Recording()) {
+            EVENT_NAMES.forEach(recording::enable);
+            recording.start();
+            call("verify", approved, (Runnable) () -> {
+            });
+            assertThat(call("callerLookup", "org.demo.SampleTest", (Supplier<String>) () -> "sampleTest"))
+                .isEqualTo("sampleTest");
+            assertThat(call("compare", approved, (BooleanSupplier) () -> true)).isEqualTo(true);
+            assertThat(call("compare", folder.resolve("missing.txt"), (BooleanSupplier) () -> false)).isEqualTo(false);
+            call("stageFolder", folder, (Runnable) () -> {
+            });
+            call("launchReporter", "meld", approved, (Runnable) () -> {
+            });
+            recording.stop();
+            recorded = recorded(recording, temporaryFolder.getRoot().toPath().resolve("approvals.jfr"));
+        }
+
+        assertThat(recorded.stream().map(event -> event.getEventType().getName()).collect(toList()))
+            .containsExactly(EVENT_NAMES.get(0), EVENT_NAMES.get(1), EVENT_NAMES.get(2), EVENT_NAMES.get(2),
+                EVENT_NAMES.get(3), EVENT_NAMES.get(4));
+        final RecordedEvent verify = recorded.get(0);
+        assertThat(verify.getString("path")).isEqualTo(approved.toString());
+        assertThat(verify.getLong("size")).isEqualTo(8);
+        assertThat(recorded.get(1).getString("testClass")).isEqualTo("org.demo.SampleTest");
+        final RecordedEvent matchingCompare = recorded.get(2);
+        assertThat(matchingCompare.getString("path")).isEqualTo(approved.toString());
+        assertThat(matchingCompare.getLong("size")).isEqualTo(8);
+        assertThat(matchingCompare.getBoolean("matches")).isTrue();
+        final RecordedEvent mismatchingCompare = recorded.get(3);
+        assertThat(mismatchingCompare.getLong("size")).isEqualTo(0);
+        assertThat(mismatchingCompare.getBoolean("matches")).isFalse();
+        final RecordedEvent stageFolder = recorded.get(4);
+        assertThat(stageFolder.getString("path")).isEqualTo(folder.toString());
+        assertThat(stageFolder.getLong("size")).isEqualTo(18);
+        final RecordedEvent launchReporter = recorded.get(5);
+        assertThat(launchReporter.getString("command")).isEqualTo("meld");
+        assertThat(launchReporter.getString("path")).isEqualTo(approved.toString());
+    }
+
+    /**
+     * Calls the static method of the versioned class accepting the provided arguments.
+     */
+    private Object call(final String name, final Object... arguments) throws ReflectiveOperationException {
+        for (final Method method : events.getMethods()) {
+            if (method.getName().equals(name) && accepts(method.getParameterTypes(), arguments)) {
+                return method.invoke(null, arguments);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private static boolean accepts(final Class<?>[] types, final Object[] arguments) {
+        return types.length == arguments.length && IntStream.range(0, types.length)
+            .allMatch(i -> types[i].isInstance(arguments[i]));
+    }
+
+    /**
+     * Returns the events of the recording, in the order they were committed.
+     */
+    private static List<RecordedEvent> recorded(final Recording recording, final Path dump) throws IOException {
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> EVENT_NAMES.contains(event.getEventType().getName()))
+            .sorted((first, second) -> first.getEndTime().compareTo(second.getEndTime()))
+            .collect(toList());
+    }
+}